@@ -0,0 +1,142 @@
+package com.example.todo.benchmark;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.todo.PersonalTodoManagementSystemApplication;
+import com.example.todo.model.User;
+import com.example.todo.repository.UserRepository;
+import com.example.todo.service.AuthenticatedUser;
+import com.example.todo.service.IndexedTodoSearchService;
+
+// The full application on an in-memory H2 database, seeded with "todos" rows spread over
+// "owners" users. Benchmarks act as the first user, who owns todos / owners rows.
+@State(Scope.Benchmark)
+public class SeededTodoState {
+
+    private static final String[] WORDS = {
+            "report", "meeting", "groceries", "invoice", "dentist", "review", "deploy", "budget",
+            "workout", "call", "plan", "email", "backup", "renew", "book", "pay"
+    };
+    private static final String[] CATEGORIES = { "Work", "Personal", "Health", "Finance", "General" };
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    // Sizes to compare; the benchmark profile runs 10000 unless jmh.args says otherwise
+    @Param({ "10000", "100000", "1000000" })
+    public int todos;
+
+    @Param({ "1" })
+    public int owners;
+
+    public Long ownerId;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        startApplication();
+
+        // Controllers read the caller from the security context; share one across JMH threads
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        AuthenticatedUser principal = new AuthenticatedUser(ownerId, "bench0", "benchmark",
+                AuthorityUtils.createAuthorityList("USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    // Starts and seeds the application; "arguments" are extra --property=value settings
+    public void startApplication(String... arguments) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--todo.mail.outbox.poll-interval=3600000",
+                // Measure the listing queries, not hits on the rendered page cache
+                "--todo.fragments.max-chars=0"));
+        args.addAll(List.of(arguments));
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(PersonalTodoManagementSystemApplication.class)
+                .run(args.toArray(String[]::new));
+        seed();
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        UserRepository userRepository = bean(UserRepository.class);
+        List<Long> ownerIds = new ArrayList<>();
+        for (int i = 0; i < owners; i++) {
+            // Password hashes are irrelevant here; skip BCrypt
+            ownerIds.add(userRepository.save(new User("bench" + i, "bench" + i + "@example.com", "benchmark")).getId());
+        }
+        ownerId = ownerIds.get(0);
+
+        // Fixed seed: every run benchmarks the same data
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        JdbcTemplate jdbcTemplate = bean(JdbcTemplate.class);
+        String sql = "insert into todo (id, owner_id, todo_item, completed, priority, category, due_date, notes, "
+                + "created_at, updated_at, version) values (next value for todo_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < todos; i++) {
+            LocalDateTime createdAt = LocalDateTime.now().minusMinutes(todos - i);
+            LocalDate dueDate = random.nextInt(10) == 0 ? null : today.plusDays(random.nextInt(120) - 60);
+            batch.add(new Object[] {
+                    ownerIds.get(i % owners),
+                    WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i,
+                    random.nextInt(10) < 3,
+                    random.nextInt(3),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    dueDate != null ? Date.valueOf(dueDate) : null,
+                    random.nextBoolean() ? WORDS[random.nextInt(WORDS.length)] + " notes" : null,
+                    Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(createdAt),
+                    0L
+            });
+            if (batch.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+
+        // Rows were inserted behind the search index's back
+        context.getBeanProvider(IndexedTodoSearchService.class).ifAvailable(IndexedTodoSearchService::rebuild);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.todo.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.example.todo.controllers.TodoController;
+import com.example.todo.service.TodoNotificationService;
+
+// TodoController.todos() variants and the notification panel, called directly on the bean
+// (no HTTP or template rendering) so the numbers isolate the data access paths.
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoListingBenchmark {
+
+    private TodoController todoController;
+    private TodoNotificationService todoNotificationService;
+    private String secondPageCursor;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededTodoState state) {
+        todoController = state.bean(TodoController.class);
+        todoNotificationService = state.bean(TodoNotificationService.class);
+
+        ExtendedModelMap model = new ExtendedModelMap();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        todoController.todos(null, null, null, null, null, null, null, model,
+                new ServletWebRequest(new MockHttpServletRequest(), response), response);
+        secondPageCursor = (String) model.get("nextCursor");
+    }
+
+    @Benchmark
+    public ExtendedModelMap firstPage() {
+        return list(null, null, null, null);
+    }
+
+    @Benchmark
+    public ExtendedModelMap secondPage() {
+        return list(null, null, null, secondPageCursor);
+    }
+
+    @Benchmark
+    public ExtendedModelMap pendingByPriority() {
+        return list(null, "No", "priority", null);
+    }
+
+    @Benchmark
+    public ExtendedModelMap search() {
+        return list("report", null, null, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> notificationData(SeededTodoState state) {
+        return todoController.getNotificationData(state.ownerId);
+    }
+
+    // Worst case: the per-user summary was just dropped (nightly rollover) and reloads
+    @Benchmark
+    public Map<String, Object> notificationDataReload(SeededTodoState state) {
+        todoNotificationService.rollover();
+        return todoController.getNotificationData(state.ownerId);
+    }
+
+    // A fresh request without If-None-Match, so every call queries instead of answering 304
+    private ExtendedModelMap list(String search, String status, String sort, String cursor) {
+        ExtendedModelMap model = new ExtendedModelMap();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        todoController.todos(search, status, null, null, sort, cursor, null, model,
+                new ServletWebRequest(new MockHttpServletRequest(), response), response);
+        return model;
+    }
+}
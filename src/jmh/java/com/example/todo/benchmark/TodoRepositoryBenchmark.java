@@ -0,0 +1,73 @@
+package com.example.todo.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import com.example.todo.model.Todo;
+import com.example.todo.repository.TodoRepository;
+import com.example.todo.repository.TodoSort;
+
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoRepositoryBenchmark {
+
+    private static final int PAGE = 21;
+
+    private TodoRepository todoRepository;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededTodoState state) {
+        todoRepository = state.bean(TodoRepository.class);
+        ownerId = state.ownerId;
+    }
+
+    @Benchmark
+    public List<Todo> findPageByDueDate() {
+        return todoRepository.findPage(ownerId, null, TodoSort.DUE_DATE, null, PAGE);
+    }
+
+    @Benchmark
+    public List<Todo> findPendingPageByCreatedAt() {
+        return todoRepository.findPage(ownerId, Boolean.FALSE, TodoSort.CREATED_AT, null, PAGE);
+    }
+
+    @Benchmark
+    public List<Todo> searchByText() {
+        return todoRepository.searchByText(ownerId, "report", null, null, null, Limit.of(50));
+    }
+
+    @Benchmark
+    public long countPending() {
+        return todoRepository.countByOwner_IdAndCompleted(ownerId, false);
+    }
+
+    @Benchmark
+    public long countOverdue() {
+        return todoRepository.countByOwner_IdAndCompletedAndDueDateBefore(ownerId, false, LocalDate.now());
+    }
+
+    @Benchmark
+    public List<Todo> firstOverdue() {
+        return todoRepository.findByOwner_IdAndCompletedAndDueDateBeforeOrderByDueDateAscIdAsc(
+                ownerId, false, LocalDate.now(), Limit.of(20));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todo.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Caches are Caffeine-backed; size, TTL and stats recording come from spring.cache.caffeine.spec.
+// With recordStats on, Actuator publishes cache.gets{result=hit|miss} per cache.
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+
+    // Puts and evictions made inside a transaction wait for its commit. Otherwise a login
+    // between the eviction and the commit of a password change would cache the old hash again.
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        caffeine.setCacheNames(cacheProperties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
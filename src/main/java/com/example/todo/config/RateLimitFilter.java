@@ -0,0 +1,82 @@
+package com.example.todo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.todo.service.TokenBucketRateLimiter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Throttles the unauthenticated endpoints that cost BCrypt work, lookups or mail (login,
+// registration, password reset) in the security chain, before any of that work starts. A
+// request passes only if every rule for its endpoint grants a token; the first one that does
+// not answers 429 with Retry-After. Rules whose key is missing from the request (no username,
+// no email) are skipped and left to the per-IP rules.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    public RateLimitFilter byIp(String method, String path, TokenBucketRateLimiter limiter) {
+        rules.add(new Rule(method, path, HttpServletRequest::getRemoteAddr, limiter));
+        return this;
+    }
+
+    // Keyed by a request parameter such as the username or email, case-insensitively
+    public RateLimitFilter byParameter(String method, String path, String parameter, TokenBucketRateLimiter limiter) {
+        rules.add(new Rule(method, path, request -> {
+            String value = request.getParameter(parameter);
+            return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+        }, limiter));
+        return this;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        for (Rule rule : rules) {
+            if (!rule.matches(request)) {
+                continue;
+            }
+            String key = rule.key.apply(request);
+            long wait = key == null ? 0 : rule.limiter.tryAcquire(key);
+            if (wait > 0) {
+                long seconds = Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                response.setStatus(429);
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+                response.setContentType("text/plain;charset=UTF-8");
+                response.getWriter().write("Too many attempts; try again in " + seconds + " seconds");
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static class Rule {
+
+        private final String method;
+        private final String path;
+        private final Function<HttpServletRequest, String> key;
+        private final TokenBucketRateLimiter limiter;
+
+        Rule(String method, String path, Function<HttpServletRequest, String> key, TokenBucketRateLimiter limiter) {
+            this.method = method;
+            this.path = path;
+            this.key = key;
+            this.limiter = limiter;
+        }
+
+        boolean matches(HttpServletRequest request) {
+            return method.equals(request.getMethod())
+                    && request.getRequestURI().equals(request.getContextPath() + path);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.todo.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.example.todo.service.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Replaces the single auto-configured pool once read replicas are listed. The primary pool is
+// built from spring.datasource.* as before; each replica gets its own pool with the same
+// settings, its own URL and a short connection timeout so a dead replica is skipped quickly.
+@Configuration
+@ConditionalOnProperty(name = "todo.datasource.replica-urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties,
+                                               Environment environment,
+                                               MeterRegistry meterRegistry,
+                                               ReadYourWritesTracker readYourWritesTracker,
+                                               @Value("${todo.datasource.replica-urls}") List<String> replicaUrls,
+                                               @Value("${todo.datasource.replica-username:${spring.datasource.username:}}") String replicaUsername,
+                                               @Value("${todo.datasource.replica-password:${spring.datasource.password:}}") String replicaPassword,
+                                               @Value("${todo.datasource.replica-connection-timeout:PT1S}") Duration replicaConnectionTimeout,
+                                               @Value("${todo.datasource.replica-retry-interval:PT30S}") Duration replicaRetryInterval) {
+        HikariDataSource primary = pool(properties, environment, "primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = pool(properties, environment, "replica-" + i);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            // Start even if a replica is down; reads fall back to the primary until it is back
+            replica.setInitializationFailTimeout(-1);
+            // Actuator only instruments the primary pool (the one behind the DataSource bean)
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker::isRecentWriter,
+                replicaRetryInterval.toMillis(), meterRegistry);
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, Environment environment, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
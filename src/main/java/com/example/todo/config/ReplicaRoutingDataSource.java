@@ -0,0 +1,99 @@
+package com.example.todo.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Sends read-only transactions to the replicas and everything else to the primary. Connections
+// are fetched lazily, at the first statement, so the transaction's readOnly flag is known by then.
+// Read-only work still goes to the primary while "stickToPrimary" says the caller wrote recently
+// (replication lag), and when no replica can hand out a connection.
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    BooleanSupplier stickToPrimary, long retryIntervalMillis,
+                                    MeterRegistry meterRegistry) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas;
+        setReadOnlyDataSource(new ReplicaSelector(stickToPrimary, retryIntervalMillis, meterRegistry));
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    private class ReplicaSelector extends AbstractDataSource {
+
+        private final BooleanSupplier stickToPrimary;
+        private final long retryIntervalMillis;
+        private final MeterRegistry meterRegistry;
+        private final AtomicInteger next = new AtomicInteger();
+
+        // Per replica: time until which it is skipped after a failed connection attempt
+        private final long[] downUntil;
+
+        ReplicaSelector(BooleanSupplier stickToPrimary, long retryIntervalMillis, MeterRegistry meterRegistry) {
+            this.stickToPrimary = stickToPrimary;
+            this.retryIntervalMillis = retryIntervalMillis;
+            this.meterRegistry = meterRegistry;
+            this.downUntil = new long[replicas.size()];
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (stickToPrimary.getAsBoolean()) {
+                return route(primary, "primary-sticky");
+            }
+
+            // Round robin over the replicas that are not marked down
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                int index = (start + i) % replicas.size();
+                if (System.currentTimeMillis() < downUntil[index]) {
+                    continue;
+                }
+                try {
+                    return route(replicas.get(index), "replica");
+                } catch (SQLException e) {
+                    downUntil[index] = System.currentTimeMillis() + retryIntervalMillis;
+                    log.warn("Read replica {} unavailable, skipping it for {} ms: {}",
+                            replicas.get(index).getPoolName(), retryIntervalMillis, e.getMessage());
+                }
+            }
+            return route(primary, "primary-fallback");
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        private Connection route(DataSource target, String route) throws SQLException {
+            Connection connection = target.getConnection();
+            meterRegistry.counter("todo.datasource.reads", "route", route).increment();
+            return connection;
+        }
+    }
+}
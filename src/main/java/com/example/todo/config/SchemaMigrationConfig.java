@@ -0,0 +1,22 @@
+package com.example.todo.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    public TodoSchemaMigration todoSchemaMigration(DataSource dataSource) {
+        return new TodoSchemaMigration(dataSource);
+    }
+
+    // Make sure legacy columns are converted before Hibernate touches the schema
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor todoSchemaMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("todoSchemaMigration");
+    }
+}
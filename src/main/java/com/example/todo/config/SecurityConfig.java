@@ -1,26 +1,70 @@
 package com.example.todo.config;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+
+import com.example.todo.exception.PasswordHashingBusyException;
+import com.example.todo.service.BoundedPasswordEncoder;
+import com.example.todo.service.TokenBucketRateLimiter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+
+    @Value("${todo.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${todo.rate-limit.login-ip:20/PT1M}")
+    private String loginIpPolicy;
+
+    @Value("${todo.rate-limit.login-user:5/PT1M}")
+    private String loginUserPolicy;
+
+    @Value("${todo.rate-limit.register-ip:5/PT1H}")
+    private String registerIpPolicy;
+
+    @Value("${todo.rate-limit.forgot-password-ip:10/PT1H}")
+    private String forgotPasswordIpPolicy;
+
+    @Value("${todo.rate-limit.forgot-password-email:3/PT1H}")
+    private String forgotPasswordEmailPolicy;
+
+    @Value("${todo.rate-limit.reset-password-ip:10/PT15M}")
+    private String resetPasswordIpPolicy;
+
+    @Value("${todo.rate-limit.max-keys:100000}")
+    private int rateLimitMaxKeys;
     
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, MeterRegistry meterRegistry) throws Exception {
+        if (rateLimitEnabled) {
+            // Ahead of the login filter, so throttled attempts never reach BCrypt
+            http.addFilterBefore(rateLimitFilter(meterRegistry), UsernamePasswordAuthenticationFilter.class);
+        }
         http
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/", "/register", "/login", "/css/**", "/js/**", "/h2-console/**").permitAll()
+                // Scraped by Prometheus without a login; the prod profile serves them on an internal port
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
                 .loginPage("/login")
                 .defaultSuccessUrl("/todos", true)
+                .failureHandler(loginFailureHandler())
                 .permitAll()
             )
             .logout(logout -> logout
@@ -37,8 +81,48 @@ public class SecurityConfig {
         return http.build();
     }
     
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // BCrypt runs on its own bounded executor; see BoundedPasswordEncoder. Changing the strength
+    // re-hashes stored passwords on each user's next successful login.
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(@Value("${todo.password.bcrypt-strength:10}") int strength,
+                                           @Value("${todo.password.hashing-threads:0}") int threads,
+                                           @Value("${todo.password.queue-capacity:64}") int queueCapacity,
+                                           MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, meterRegistry);
+    }
+    
+    // Not a bean: a Filter bean would also be registered with the servlet container, outside this chain
+    private RateLimitFilter rateLimitFilter(MeterRegistry meterRegistry) {
+        return new RateLimitFilter()
+                .byIp("POST", "/login", limiter("login-ip", loginIpPolicy, meterRegistry))
+                .byParameter("POST", "/login", "username", limiter("login-user", loginUserPolicy, meterRegistry))
+                .byIp("POST", "/register", limiter("register-ip", registerIpPolicy, meterRegistry))
+                .byIp("POST", "/api/auth/forgot-password",
+                        limiter("forgot-password-ip", forgotPasswordIpPolicy, meterRegistry))
+                .byParameter("POST", "/api/auth/forgot-password", "email",
+                        limiter("forgot-password-email", forgotPasswordEmailPolicy, meterRegistry))
+                .byIp("POST", "/api/auth/reset-password",
+                        limiter("reset-password-ip", resetPasswordIpPolicy, meterRegistry));
+    }
+
+    private TokenBucketRateLimiter limiter(String name, String policy, MeterRegistry meterRegistry) {
+        return new TokenBucketRateLimiter(name, TokenBucketRateLimiter.Policy.parse(policy), rateLimitMaxKeys,
+                meterRegistry);
+    }
+    
+    // A saturated hashing executor answers 503 instead of the generic "bad credentials" redirect
+    private AuthenticationFailureHandler loginFailureHandler() {
+        AuthenticationFailureHandler badCredentials = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingBusyException) {
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.setContentType("text/plain;charset=UTF-8");
+                response.getWriter().write(exception.getMessage());
+            } else {
+                badCredentials.onAuthenticationFailure(request, response, exception);
+            }
+        };
     }
 }
\ No newline at end of file
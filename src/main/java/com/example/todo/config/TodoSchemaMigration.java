@@ -0,0 +1,89 @@
+package com.example.todo.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+// Converts todo tables created before completed/priority became typed columns, seeds the
+// todo id sequence table for databases that used AUTO_INCREMENT ids, adds the version and
+// completed_at columns to existing todo rows, creates the todo_change journal, and drops the
+// reset token columns from users now that tokens live in password_reset_token.
+// Runs before Hibernate starts (see SchemaMigrationConfig), because ddl-auto=update
+// adds missing columns and indexes but never changes or drops an existing column.
+public class TodoSchemaMigration implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSchemaMigration.class);
+
+    private final DataSource dataSource;
+
+    public TodoSchemaMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"MySQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            migrateIfCharacterColumn(connection, "completed", "db/migration/mysql/todo-completed-boolean.sql");
+            migrateIfCharacterColumn(connection, "priority", "db/migration/mysql/todo-priority-ordinal.sql");
+            if (hasTable(connection, "todo") && !hasTable(connection, "todo_seq")) {
+                log.info("Seeding todo_seq from the existing todo ids");
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/mysql/todo-id-sequence.sql"));
+            }
+            if (hasTable(connection, "todo") && !hasColumn(connection, "todo", "version")) {
+                log.info("Adding the todo.version optimistic lock column");
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/mysql/todo-version.sql"));
+            }
+            if (hasTable(connection, "todo") && !hasColumn(connection, "todo", "completed_at")) {
+                log.info("Adding todo.completed_at, backfilled from updated_at");
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/mysql/todo-completed-at.sql"));
+            }
+            if (!hasTable(connection, "todo_change")) {
+                log.info("Creating the todo_change journal tables");
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/mysql/todo-change-journal.sql"));
+            }
+            if (hasColumn(connection, "users", "reset_token")) {
+                log.info("Dropping legacy users.reset_token columns");
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/mysql/users-drop-reset-token.sql"));
+            }
+        }
+    }
+
+    private void migrateIfCharacterColumn(Connection connection, String column, String script) throws SQLException {
+        if (!isCharacterColumn(connection, column)) {
+            return;
+        }
+        log.info("Migrating legacy todo.{} column with {}", column, script);
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource(script));
+    }
+
+    private boolean hasTable(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, table, null)) {
+            return tables.next();
+        }
+    }
+
+    private boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+            return columns.next();
+        }
+    }
+
+    private boolean isCharacterColumn(Connection connection, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, "todo", column)) {
+            return columns.next() && columns.getString("TYPE_NAME").toUpperCase().contains("CHAR");
+        }
+    }
+}
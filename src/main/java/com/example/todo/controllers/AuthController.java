@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.example.todo.exception.PasswordHashingBusyException;
 import com.example.todo.model.User;
 import com.example.todo.service.PasswordResetService;
 import com.example.todo.service.UserService;
@@ -39,6 +40,8 @@ public class AuthController {
         try {
             userService.registerUser(user);
             return "redirect:/login?success";
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             model.addAttribute("error", e.getMessage());
             return "register";
@@ -0,0 +1,22 @@
+package com.example.todo.controllers;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import com.example.todo.exception.PasswordHashingBusyException;
+
+// Registration and password reset hash passwords too; a saturated hashing executor is a
+// 503 with Retry-After there as well, not a validation error
+@ControllerAdvice
+public class PasswordHashingBusyHandler {
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handleBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.todo.controllers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.example.todo.exception.PasswordHashingBusyException;
 import com.example.todo.service.PasswordResetService;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,6 +42,8 @@ public class PasswordResetController {
             Map<String, String> response = new HashMap<>();
             response.put("message", "Password reset successfully");
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -0,0 +1,338 @@
+package com.example.todo.controllers;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.todo.exception.TodoException;
+import com.example.todo.model.BulkTodoRequest;
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoChange;
+import com.example.todo.model.TodoDto;
+import com.example.todo.model.TodoPage;
+import com.example.todo.model.TodoVersion;
+import com.example.todo.service.TodoArchiveService;
+import com.example.todo.service.TodoChangeFeedService;
+import com.example.todo.service.TodoJournalService;
+import com.example.todo.service.TodoSearchService;
+import com.example.todo.service.TodoService;
+import com.example.todo.service.TodoStatsService;
+import com.example.todo.service.TodoTransferService;
+import com.example.todo.service.TodoVersionService;
+import com.example.todo.service.UserService;
+
+@RestController
+@RequestMapping("/api/todos")
+public class TodoApiController {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoSearchService todoSearchService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TodoTransferService todoTransferService;
+
+    @Autowired
+    private TodoChangeFeedService todoChangeFeedService;
+
+    @Autowired
+    private TodoVersionService todoVersionService;
+
+    @Autowired
+    private TodoStatsService todoStatsService;
+
+    @Autowired
+    private TodoArchiveService todoArchiveService;
+
+    @Autowired
+    private TodoJournalService todoJournalService;
+
+    // Keyset-paginated listing: pass the returned nextCursor back to fetch the following page.
+    // Carries an ETag of the user's todo version; a matching If-None-Match gets 304 without a query.
+    @GetMapping
+    public ResponseEntity<?> list(@RequestParam(value = "status", required = false) String status,
+                                  @RequestParam(value = "sort", required = false) String sort,
+                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                  @RequestParam(value = "size", required = false) Integer size,
+                                  WebRequest webRequest) {
+        Long ownerId = userService.getCurrentUserId();
+        TodoVersion version = todoVersionService.getVersion(ownerId);
+        if (webRequest.checkNotModified(version.getETag(null), version.getLastModified())) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(pageBody(todoService.findPage(ownerId, todoService.parseStatus(status), sort, cursor, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Server-sent change feed of the current user's todos (see TodoChangeFeedService)
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events() {
+        return todoChangeFeedService.subscribe(userService.getCurrentUserId());
+    }
+
+    // Dashboard statistics, served from the incrementally maintained aggregates
+    @GetMapping("/stats")
+    public ResponseEntity<?> stats() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(todoStatsService.getStats(userService.getCurrentUserId()));
+    }
+
+    // Incremental sync from the change journal: everything after journal id "since", oldest first.
+    // Pass the returned version back as the next "since"; hasMore means another page is waiting.
+    // Best-effort, and gap-free only with a single app instance (see TodoJournalService). When
+    // this instance lost entries after "since", the answer is reload=true with no changes: reload
+    // the todos and continue from the returned version.
+    @GetMapping("/changes")
+    public ResponseEntity<?> changes(@RequestParam(value = "since", defaultValue = "0") long since,
+                                     @RequestParam(value = "size", required = false) Integer size) {
+        Long ownerId = userService.getCurrentUserId();
+        if (todoJournalService.isIncomplete(ownerId, since)) {
+            Map<String, Object> body = changesBody(List.of(), todoJournalService.getLastWrittenId(), 1);
+            body.put("reload", true);
+            return ResponseEntity.ok(body);
+        }
+        int limit = todoService.pageSize(size);
+        Map<String, Object> body = changesBody(todoJournalService.changesSince(ownerId, since, limit), since, limit);
+        body.put("reload", false);
+        return ResponseEntity.ok(body);
+    }
+
+    // Change history of one todo, paged the same way
+    @GetMapping("/{id}/history")
+    public ResponseEntity<?> history(@PathVariable long id,
+                                     @RequestParam(value = "since", defaultValue = "0") long since,
+                                     @RequestParam(value = "size", required = false) Integer size) {
+        int limit = todoService.pageSize(size);
+        return ResponseEntity.ok(changesBody(todoJournalService.history(userService.getCurrentUserId(), id, since, limit), since, limit));
+    }
+
+    // Ranked full-text search over todoItem and notes. With archived=true, matching archived
+    // todos fill the page after the live ones.
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam("q") String query,
+                                    @RequestParam(value = "status", required = false) String status,
+                                    @RequestParam(value = "category", required = false) String category,
+                                    @RequestParam(value = "priority", required = false) String priority,
+                                    @RequestParam(value = "size", required = false) Integer size,
+                                    @RequestParam(value = "archived", defaultValue = "false") boolean archived) {
+        try {
+            Long ownerId = userService.getCurrentUserId();
+            Boolean completed = todoService.parseStatus(status);
+            Priority todoPriority = Priority.fromLabel(emptyToNull(priority));
+            int limit = todoService.pageSize(size);
+            List<TodoDto> results = new ArrayList<>(todoSearchService.search(ownerId, query, completed,
+                    emptyToNull(category), todoPriority, limit).stream().map(TodoDto::from).toList());
+            if (archived) {
+                todoArchiveService.search(ownerId, query, completed, emptyToNull(category), todoPriority,
+                        limit - results.size()).forEach(todo -> results.add(TodoDto.from(todo)));
+            }
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Single-todo CRUD for in-place updates from todo.js; every response is one compact TodoDto
+    @GetMapping("/{id}")
+    public ResponseEntity<?> get(@PathVariable long id) {
+        try {
+            return ResponseEntity.ok(TodoDto.from(todoService.getTodo(userService.getCurrentUserId(), id)));
+        } catch (TodoException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody TodoDto request) {
+        try {
+            Todo saved = todoService.createTodo(userService.getCurrentUserId(), request.toTodo());
+            return ResponseEntity.status(HttpStatus.CREATED).body(TodoDto.from(saved));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Writes answer 409 Conflict when the todo changed since the caller read it (the version
+    // sent no longer matches) or a concurrent request updated it first
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> update(@PathVariable long id, @RequestBody TodoDto changes) {
+        try {
+            return ResponseEntity.ok(TodoDto.from(todoService.updateTodo(userService.getCurrentUserId(), id, changes)));
+        } catch (TodoException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return conflict();
+        }
+    }
+
+    @PostMapping("/{id}/toggle")
+    public ResponseEntity<?> toggle(@PathVariable long id, @RequestParam(value = "version", required = false) Long version) {
+        try {
+            return ResponseEntity.ok(TodoDto.from(todoService.toggleCompleted(userService.getCurrentUserId(), id, version)));
+        } catch (TodoException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return conflict();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> delete(@PathVariable long id) {
+        try {
+            if (!todoService.deleteTodo(userService.getCurrentUserId(), id)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Todo not found");
+            }
+        } catch (OptimisticLockingFailureException e) {
+            return conflict();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Bulk operations: one request, batched inserts or set-based UPDATE/DELETE ... WHERE id IN (...)
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createAll(@RequestBody List<TodoDto> todos) {
+        try {
+            List<Long> ids = todoService.createTodos(userService.getCurrentUserId(),
+                    todos.stream().map(TodoDto::toTodo).toList());
+            return ResponseEntity.ok(Map.of("count", ids.size(), "ids", ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/bulk/status")
+    public ResponseEntity<?> setCompleted(@RequestBody BulkTodoRequest request) {
+        if (request.getCompleted() == null) {
+            return ResponseEntity.badRequest().body("completed is required");
+        }
+        try {
+            return ResponseEntity.ok(Map.of("count", todoService.setCompleted(userService.getCurrentUserId(),
+                    request.getIds(), emptyToNull(request.getCategory()), request.getCompleted())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/bulk/category")
+    public ResponseEntity<?> recategorize(@RequestBody BulkTodoRequest request) {
+        try {
+            return ResponseEntity.ok(Map.of("count", todoService.recategorize(userService.getCurrentUserId(),
+                    request.getIds(), emptyToNull(request.getCategory()), request.getNewCategory())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<?> deleteAll(@RequestBody BulkTodoRequest request) {
+        try {
+            return ResponseEntity.ok(Map.of("count", todoService.deleteTodos(userService.getCurrentUserId(),
+                    request.getIds(), emptyToNull(request.getCategory()))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Streams every todo of the caller straight to the response: ?format=csv (default) or ndjson,
+    // and with archived=true the archived todos as well
+    @GetMapping("/export")
+    public void export(@RequestParam(value = "format", required = false) String format,
+                       @RequestParam(value = "archived", defaultValue = "false") boolean archived,
+                       HttpServletResponse response) throws IOException {
+        TodoTransferService.Format exportFormat;
+        try {
+            exportFormat = TodoTransferService.Format.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write(e.getMessage());
+            return;
+        }
+        Long ownerId = userService.getCurrentUserId();
+
+        boolean csv = exportFormat == TodoTransferService.Format.CSV;
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"todos." + (csv ? "csv" : "ndjson") + "\"");
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        todoTransferService.export(ownerId, exportFormat, out, archived);
+    }
+
+    // Imports the raw request body (CSV with a header row, or NDJSON) in batches. The format
+    // comes from ?format= or else the Content-Type.
+    @PostMapping("/import")
+    public ResponseEntity<?> importTodos(@RequestParam(value = "format", required = false) String format,
+                                         HttpServletRequest request) throws IOException {
+        try {
+            TodoTransferService.Format importFormat = format != null
+                    ? TodoTransferService.Format.fromParameter(format)
+                    : request.getContentType() != null && request.getContentType().contains("json")
+                            ? TodoTransferService.Format.NDJSON
+                            : TodoTransferService.Format.CSV;
+            BufferedReader in = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+            long count = todoTransferService.importTodos(userService.getCurrentUserId(), importFormat, in);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(Map.of("count", count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private Map<String, Object> pageBody(TodoPage page) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("todos", page.getTodos().stream().map(TodoDto::from).toList());
+        body.put("sort", page.getSort());
+        body.put("size", page.getSize());
+        body.put("nextCursor", page.getNextCursor());
+        body.put("hasNext", page.isHasNext());
+        return body;
+    }
+
+    private Map<String, Object> changesBody(List<TodoChange> changes, long since, int limit) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("changes", changes);
+        body.put("version", changes.isEmpty() ? since : changes.get(changes.size() - 1).getId());
+        body.put("hasMore", changes.size() == limit);
+        return body;
+    }
+
+    private ResponseEntity<?> conflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Todo was changed by another request; reload it and try again");
+    }
+
+    private String emptyToNull(String value) {
+        return value == null || value.isEmpty() || value.equals("all") ? null : value;
+    }
+}
@@ -1,25 +1,52 @@
 package com.example.todo.controllers;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.todo.model.Priority;
 import com.example.todo.model.Todo;
-import com.example.todo.repository.TodoRepository;
+import com.example.todo.model.RenderedTodoPage;
+import com.example.todo.model.TodoVersion;
+import com.example.todo.service.TodoFragmentCache;
+import com.example.todo.service.TodoNotificationService;
+import com.example.todo.service.TodoSearchService;
+import com.example.todo.service.TodoService;
+import com.example.todo.service.TodoVersionService;
+import com.example.todo.service.UserService;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 
 @Controller
 public class TodoController {
 
     @Autowired
-    TodoRepository todoRepository;
+    TodoService todoService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    TodoNotificationService notificationService;
+
+    @Autowired
+    TodoSearchService todoSearchService;
+
+    @Autowired
+    TodoVersionService todoVersionService;
+
+    @Autowired
+    TodoFragmentCache todoFragmentCache;
 
     @GetMapping("/")
     public String home() {
@@ -29,30 +56,47 @@ public class TodoController {
     @GetMapping("/todos")
     public String todos(@RequestParam(value = "search", required = false) String search,
                         @RequestParam(value = "status", required = false) String status,
-                        Model model) {
+                        @RequestParam(value = "category", required = false) String category,
+                        @RequestParam(value = "priority", required = false) String priority,
+                        @RequestParam(value = "sort", required = false) String sort,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", required = false) Integer size,
+                        Model model, WebRequest webRequest, HttpServletResponse response) {
+        Long ownerId = userService.getCurrentUserId();
+
+        // Unchanged since the browser's copy: 304 without querying todos or rendering the template.
+        // The page also shows date-dependent overdue state and the session's CSRF token.
+        TodoVersion version = todoVersionService.getVersion(ownerId);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        String variant = LocalDate.now() + "-" + Integer.toHexString(webRequest.getSessionId().hashCode());
+        if (webRequest.checkNotModified(version.getETag(variant), version.getLastModified())) {
+            return null;
+        }
+
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         model.addAttribute("username", auth.getName());
 
-        List<Todo> todos;
+        try {
+            Boolean statusFilter = todoService.parseStatus(status);
 
-        if (search != null && !search.isEmpty()) {
-            if (status != null && !status.isEmpty() && !status.equals("all")) {
-                todos = todoRepository.findByTodoItemContainingAndCompleted(search, status);
+            if (search != null && !search.isEmpty()) {
+                model.addAttribute("todosScript", todoFragmentCache.render(todoSearchService.search(ownerId, search,
+                        statusFilter, emptyToNull(category), Priority.fromLabel(emptyToNull(priority)), todoService.pageSize(size))));
             } else {
-                todos = todoRepository.findByTodoItemContaining(search);
+                // Rendered once per data version; only this user's changes rebuild it
+                RenderedTodoPage page = todoFragmentCache.getPage(version, statusFilter, sort, cursor, size);
+                model.addAttribute("todosScript", page.getTodosScript());
+                model.addAttribute("currentSort", page.getSort());
+                model.addAttribute("pageSize", page.getSize());
+                model.addAttribute("nextCursor", page.getNextCursor());
             }
-        } else if (status != null && !status.isEmpty() && !status.equals("all")) {
-            todos = todoRepository.findByCompleted(status);
-        } else {
-            todos = todoRepository.findAll();
+        } catch (IllegalArgumentException e) {
+            return "redirect:/todos";
         }
 
-        model.addAttribute("todos", todos);
         model.addAttribute("currentSearch", search != null ? search : "");
         model.addAttribute("currentStatus", status != null ? status : "all");
-
-        // Add notification data to the model
-        model.addAllAttributes(getNotificationData());
+        model.addAttribute("notificationData", getNotificationData(ownerId));
 
         return "todos";
     }
@@ -64,61 +108,49 @@ public class TodoController {
                       @RequestParam(required = false) String category,
                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
                       @RequestParam(required = false) String notes,
+                      @RequestParam(required = false) String recurrence,
                       Model model) {
 
-        Todo todo = new Todo(todoItem, status);
+        try {
+            Todo todo = new Todo(todoItem, Boolean.TRUE.equals(todoService.parseStatus(status)));
 
-        if (priority != null) todo.setPriority(priority);
-        if (category != null) todo.setCategory(category);
-        if (dueDate != null) todo.setDueDate(dueDate);
-        if (notes != null) todo.setNotes(notes);
+            if (priority != null) todo.setPriority(Priority.fromLabel(priority));
+            if (category != null) todo.setCategory(category);
+            if (dueDate != null) todo.setDueDate(dueDate);
+            if (notes != null) todo.setNotes(notes);
+            if (recurrence != null && !recurrence.isEmpty()) todo.setRecurrence(recurrence);
 
-        todoRepository.save(todo);
+            todoService.createTodo(userService.getCurrentUserId(), todo);
+        } catch (IllegalArgumentException e) {
+            return "redirect:/todos?error";
+        }
         return "redirect:/todos?success";
     }
 
     @PostMapping("/todoDelete/{id}")
     public String delete(@PathVariable long id, Model model) {
-        todoRepository.deleteById(id);
+        todoService.deleteTodo(userService.getCurrentUserId(), id);
         return "redirect:/todos?success";
     }
 
     @PostMapping("/todoUpdate/{id}")
     public String update(@PathVariable long id, Model model) {
-        Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
-
-        if ("Yes".equals(todo.getCompleted())) {
-            todo.setCompleted("No");
-        } else {
-            todo.setCompleted("Yes");
+        try {
+            todoService.toggleCompleted(userService.getCurrentUserId(), id, null);
+        } catch (OptimisticLockingFailureException e) {
+            return "redirect:/todos?error";
         }
-        todoRepository.save(todo);
         return "redirect:/todos?success";
     }
 
-    // Notification method to provide pending count and overdue todos
-    @ModelAttribute("notificationData")
-    public Map<String, Object> getNotificationData() {
-        Map<String, Object> notificationData = new HashMap<>();
-
-        List<Todo> todos = todoRepository.findAll();
-
-        // Count of pending todos
-        long pendingCount = todos.stream()
-                .filter(todo -> "No".equals(todo.getCompleted()))
-                .count();
-        notificationData.put("pendingCount", pendingCount);
-
-        // List of overdue todos
-        List<Todo> overdueTodos = todos.stream()
-                .filter(todo -> "No".equals(todo.getCompleted()))
-                .filter(todo -> todo.getDueDate() != null)
-                .filter(todo -> todo.getDueDate().isBefore(LocalDate.now()))
-                .collect(Collectors.toList());
-        notificationData.put("overdueTodos", overdueTodos);
+    private String emptyToNull(String value) {
+        return value == null || value.isEmpty() || value.equals("all") ? null : value;
+    }
 
-        return notificationData;
+    // Notification method to provide pending count and overdue todos.
+    // Served from counters maintained by TodoNotificationService, so this is O(1) per request.
+    public Map<String, Object> getNotificationData(Long ownerId) {
+        return notificationService.getNotificationData(ownerId);
     }
 }
 
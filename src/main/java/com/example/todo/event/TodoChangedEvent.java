@@ -0,0 +1,35 @@
+package com.example.todo.event;
+
+import com.example.todo.model.Todo;
+
+// Published by TodoService after every todo mutation. "before" is a detached copy of
+// the row as it was prior to the change (null on create), "after" is the saved state
+// (null on delete).
+public class TodoChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Todo before;
+    private final Todo after;
+
+    public TodoChangedEvent(Type type, Todo before, Todo after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Todo getBefore() {
+        return before;
+    }
+
+    public Todo getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.todo.event;
+
+import java.util.List;
+import java.util.Map;
+
+// Published by TodoService after a bulk operation. Set-based statements do not load the rows,
+// so unlike TodoChangedEvent there are no before/after images: listeners get the affected ids
+// and reload (or drop) whatever state they derive from them. "changes" holds the values the
+// statement set on every row (e.g. completed=true), where there are any.
+public class TodosBulkChangedEvent {
+
+    private final TodoChangedEvent.Type type;
+    private final Long ownerId;
+    private final List<Long> ids;
+    private final Map<String, Object> changes;
+
+    public TodosBulkChangedEvent(TodoChangedEvent.Type type, Long ownerId, List<Long> ids) {
+        this(type, ownerId, ids, Map.of());
+    }
+
+    public TodosBulkChangedEvent(TodoChangedEvent.Type type, Long ownerId, List<Long> ids, Map<String, Object> changes) {
+        this.type = type;
+        this.ownerId = ownerId;
+        this.ids = ids;
+        this.changes = changes;
+    }
+
+    public TodoChangedEvent.Type getType() {
+        return type;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.todo.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// Thrown when the password-hashing executor is saturated. Extends AuthenticationServiceException
+// so a rejected login reaches the login failure handler instead of escaping the security filters.
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.todo.exception;
 
 
+// A todo that does not exist or belongs to another user
 public class TodoException extends RuntimeException {
 
+    public TodoException() {
+    }
+
+    public TodoException(String message) {
+        super(message);
+    }
 }
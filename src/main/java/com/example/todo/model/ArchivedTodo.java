@@ -0,0 +1,110 @@
+package com.example.todo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A completed todo moved out of the todo table by TodoArchiveService. It keeps its id, so an
+// archived todo is the same record, and is read-only: it only comes back in searches and
+// exports that ask for archived todos.
+@Entity
+@Table(name = "todo_archive", indexes = {
+        // Export and search read one owner's archive in id order
+        @Index(name = "idx_todo_archive_owner", columnList = "owner_id, id")
+})
+public class ArchivedTodo {
+
+    @Id
+    private Long id;
+
+    @JsonIgnore
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    private String todoItem;
+
+    @Enumerated(EnumType.ORDINAL)
+    private Priority priority;
+
+    @Column(length = 50)
+    private String category;
+    private LocalDate dueDate;
+    private String notes;
+
+    @Column(length = 100)
+    private String recurrence;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
+
+    public ArchivedTodo() {
+    }
+
+    // Detached todo with the archived values, for writers that take a Todo (CSV export)
+    public Todo toTodo() {
+        Todo todo = new Todo(todoItem, true, priority, category, dueDate, notes);
+        todo.setId(id);
+        todo.setRecurrence(recurrence);
+        todo.setCreatedAt(createdAt);
+        todo.setUpdatedAt(updatedAt);
+        return todo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public String getTodoItem() {
+        return todoItem;
+    }
+
+    // Only completed todos are archived
+    public boolean isCompleted() {
+        return true;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public String getRecurrence() {
+        return recurrence;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.todo.model;
+
+import java.util.List;
+
+// Body of the /api/todos/bulk/* operations. Todos are selected either by id or by category
+// ("complete all in Work"); completed / newCategory carry the change to apply.
+public class BulkTodoRequest {
+
+    private List<Long> ids;
+    private String category;
+    private Boolean completed;
+    private String newCategory;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public String getNewCategory() {
+        return newCategory;
+    }
+
+    public void setNewCategory(String newCategory) {
+        this.newCategory = newCategory;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todo.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Stored by ordinal (one TINYINT), so ascending order is most important first.
+// Never reorder or insert constants in the middle: existing rows would change meaning.
+public enum Priority {
+
+    HIGH("High"),
+    MEDIUM("Medium"),
+    LOW("Low");
+
+    private final String label;
+
+    Priority(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    @JsonCreator
+    public static Priority fromLabel(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        for (Priority priority : values()) {
+            if (priority.label.equalsIgnoreCase(value) || priority.name().equalsIgnoreCase(value)) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown priority: " + value);
+    }
+}
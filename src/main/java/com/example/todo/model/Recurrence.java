@@ -0,0 +1,81 @@
+package com.example.todo.model;
+
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+
+// Repeat rule of a recurring todo, stored as text on Todo.recurrence: one of the keywords
+// daily, weekdays, weekly, monthly, yearly (counted from the due date) or a six-field cron
+// expression such as "0 0 0 * * MON,THU" or "0 0 0 1 * *". Due dates are whole days, so a
+// cron rule only decides on which days the todo comes back.
+public final class Recurrence {
+
+    private final String rule;
+    private final CronExpression cron;
+
+    private Recurrence(String rule, CronExpression cron) {
+        this.rule = rule;
+        this.cron = cron;
+    }
+
+    public static Recurrence parse(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Recurrence is empty");
+        }
+        String rule = value.trim().toLowerCase(Locale.ROOT);
+        switch (rule) {
+            case "daily", "weekdays", "weekly", "monthly", "yearly":
+                return new Recurrence(rule, null);
+            default:
+                try {
+                    return new Recurrence(value.trim(), CronExpression.parse(value.trim()));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown recurrence: " + value);
+                }
+        }
+    }
+
+    // The first due date of the series after the given one
+    public LocalDate next(LocalDate dueDate) {
+        if (cron != null) {
+            var next = cron.next(dueDate.atTime(LocalTime.MAX));
+            if (next == null) {
+                throw new IllegalArgumentException("Recurrence " + rule + " has no further dates");
+            }
+            return next.toLocalDate();
+        }
+        switch (rule) {
+            case "daily":
+                return dueDate.plusDays(1);
+            case "weekdays":
+                LocalDate next = dueDate.plusDays(1);
+                while (next.getDayOfWeek() == DayOfWeek.SATURDAY || next.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    next = next.plusDays(1);
+                }
+                return next;
+            case "weekly":
+                return dueDate.plusWeeks(1);
+            case "monthly":
+                return dueDate.plusMonths(1);
+            default:
+                return dueDate.plusYears(1);
+        }
+    }
+
+    // Next due date that is not in the past, skipping occurrences missed while the todo was open
+    public LocalDate nextFrom(LocalDate dueDate, LocalDate today) {
+        LocalDate next = next(dueDate);
+        while (next.isBefore(today)) {
+            next = next(next);
+        }
+        return next;
+    }
+
+    @Override
+    public String toString() {
+        return rule;
+    }
+}
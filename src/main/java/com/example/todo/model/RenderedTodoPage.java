@@ -0,0 +1,40 @@
+package com.example.todo.model;
+
+// The per-user part of the todos page, rendered once per data version: the current page of
+// todos as the JavaScript literal the page script starts from, plus the paging state.
+public class RenderedTodoPage {
+
+    private final String versionTag;
+    private final String todosScript;
+    private final String sort;
+    private final int size;
+    private final String nextCursor;
+
+    public RenderedTodoPage(String versionTag, String todosScript, String sort, int size, String nextCursor) {
+        this.versionTag = versionTag;
+        this.todosScript = todosScript;
+        this.sort = sort;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public String getVersionTag() {
+        return versionTag;
+    }
+
+    public String getTodosScript() {
+        return todosScript;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
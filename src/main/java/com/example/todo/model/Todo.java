@@ -1,30 +1,87 @@
 package com.example.todo.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "todo", indexes = {
+        // Every query is scoped to one owner, so each index leads with owner_id.
+        // Status filter and overdue scans: completed = ? [and dueDate < ?] order by dueDate, id
+        @Index(name = "idx_todo_owner_status_due", columnList = "owner_id, completed, dueDate"),
+        @Index(name = "idx_todo_owner_category_status", columnList = "owner_id, category, completed"),
+        // Keyset pagination without a status filter (InnoDB appends the id to every index)
+        @Index(name = "idx_todo_owner_due", columnList = "owner_id, dueDate"),
+        @Index(name = "idx_todo_owner_created", columnList = "owner_id, createdAt"),
+        @Index(name = "idx_todo_owner_priority", columnList = "owner_id, priority"),
+        // Reminder window across all owners: completed = false and dueDate between ? and ?
+        @Index(name = "idx_todo_status_due", columnList = "completed, dueDate"),
+        // Archive job: completed = true and updatedAt < ? order by updatedAt, id
+        @Index(name = "idx_todo_status_updated", columnList = "completed, updatedAt")
+})
+// Updates set only the columns that changed, so a toggle does not rewrite todoItem and notes
+@DynamicUpdate
 public class Todo {
 
+    // Pooled sequence instead of IDENTITY: ids are known before the insert, so Hibernate can
+    // batch inserts, and 50 ids are reserved per round trip. MySQL emulates it with a todo_seq table.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_seq")
+    @SequenceGenerator(name = "todo_seq", sequenceName = "todo_seq", allocationSize = 50)
     private Long id;
 
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id")
+    private User owner;
+
     private String todoItem;
-    private String completed;
+
+    @Column(nullable = false)
+    private boolean completed;
 
     // New fields
-    private String priority;  // High, Medium, Low
+    @Enumerated(EnumType.ORDINAL)
+    private Priority priority;
+
+    @Column(length = 50)
     private String category;  // Work, Personal, Health, etc.
     private LocalDate dueDate;
     private String notes;
+
+    // Repeat rule (see Recurrence); completing the todo creates the next occurrence
+    @Column(length = 100)
+    private String recurrence;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Set when the todo is completed and cleared when it is reopened; other edits leave it alone
+    private LocalDateTime completedAt;
+
+    // Optimistic lock: every UPDATE/DELETE checks and bumps it, so concurrent edits of one todo
+    // fail with a conflict instead of the last writer silently winning
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     // REQUIRED: No-argument constructor for JPA
     public Todo() {
         this.createdAt = LocalDateTime.now();
@@ -32,26 +89,45 @@ public class Todo {
     }
 
     // Constructor for creating new todos
-    public Todo(String todoItem, String completed) {
+    public Todo(String todoItem, boolean completed) {
         this();
         this.todoItem = todoItem;
         this.completed = completed;
-        this.priority = "Medium";   // Default priority
+        this.completedAt = completed ? createdAt : null;
+        this.priority = Priority.MEDIUM;   // Default priority
         this.category = "General";  // Default category
     }
 
     // Full constructor
-    public Todo(String todoItem, String completed, String priority, String category,
+    public Todo(String todoItem, boolean completed, Priority priority, String category,
                 LocalDate dueDate, String notes) {
         this();
         this.todoItem = todoItem;
         this.completed = completed;
+        this.completedAt = completed ? createdAt : null;
         this.priority = priority;
         this.category = category;
         this.dueDate = dueDate;
         this.notes = notes;
     }
 
+    // Copy constructor, used to keep a detached "before" image of a todo across updates
+    public Todo(Todo other) {
+        this.id = other.id;
+        this.owner = other.owner;
+        this.todoItem = other.todoItem;
+        this.completed = other.completed;
+        this.priority = other.priority;
+        this.category = other.category;
+        this.dueDate = other.dueDate;
+        this.notes = other.notes;
+        this.recurrence = other.recurrence;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.completedAt = other.completedAt;
+        this.version = other.version;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -61,6 +137,20 @@ public class Todo {
         this.id = id;
     }
 
+    public User getOwner() {
+        return owner;
+    }
+
+    public void setOwner(User owner) {
+        this.owner = owner;
+    }
+
+    // Reading the id of a lazy owner proxy does not initialize it
+    @JsonIgnore
+    public Long getOwnerId() {
+        return owner != null ? owner.getId() : null;
+    }
+
     public String getTodoItem() {
         return todoItem;
     }
@@ -70,20 +160,23 @@ public class Todo {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public String getCompleted() {
+    public boolean isCompleted() {
         return completed;
     }
 
-    public void setCompleted(String completed) {
-        this.completed = completed;
+    public void setCompleted(boolean completed) {
         this.updatedAt = LocalDateTime.now();
+        if (completed != this.completed) {
+            this.completedAt = completed ? updatedAt : null;
+        }
+        this.completed = completed;
     }
 
-    public String getPriority() {
+    public Priority getPriority() {
         return priority;
     }
 
-    public void setPriority(String priority) {
+    public void setPriority(Priority priority) {
         this.priority = priority;
         this.updatedAt = LocalDateTime.now();
     }
@@ -115,6 +208,15 @@ public class Todo {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public String getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(String recurrence) {
+        this.recurrence = recurrence;
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -131,18 +233,37 @@ public class Todo {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Todo{" +
                 "id=" + id +
                 ", todoItem='" + todoItem + '\'' +
-                ", completed='" + completed + '\'' +
-                ", priority='" + priority + '\'' +
+                ", completed=" + completed +
+                ", priority=" + priority +
                 ", category='" + category + '\'' +
                 ", dueDate=" + dueDate +
                 ", notes='" + notes + '\'' +
+                ", recurrence='" + recurrence + '\'' +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", completedAt=" + completedAt +
+                ", version=" + version +
                 '}';
     }
 }
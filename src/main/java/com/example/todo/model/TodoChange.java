@@ -0,0 +1,91 @@
+package com.example.todo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+
+// One entry of the append-only todo change journal, written by TodoJournalService. "changes"
+// is a JSON object of the fields that changed, {"field": {"from": old, "to": new}}; creates
+// only have "to", deletes only "from". Ids grow in write order, so a client that remembers
+// the last id it saw can ask for everything after it.
+@Entity
+@Table(name = "todo_change", indexes = {
+        // Changes since id N for one owner
+        @Index(name = "idx_todo_change_owner", columnList = "owner_id, id"),
+        // History of one todo
+        @Index(name = "idx_todo_change_todo", columnList = "todo_id, id")
+})
+public class TodoChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_change_seq")
+    @SequenceGenerator(name = "todo_change_seq", sequenceName = "todo_change_seq", allocationSize = 50)
+    private Long id;
+
+    @JsonIgnore
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "todo_id", nullable = false)
+    private Long todoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TodoChangedEvent.Type type;
+
+    @Lob
+    @JsonRawValue
+    @Column(nullable = false)
+    private String changes;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    public TodoChange() {
+    }
+
+    public TodoChange(Long ownerId, Long todoId, TodoChangedEvent.Type type, String changes, LocalDateTime changedAt) {
+        this.ownerId = ownerId;
+        this.todoId = todoId;
+        this.type = type;
+        this.changes = changes;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public TodoChangedEvent.Type getType() {
+        return type;
+    }
+
+    public String getChanges() {
+        return changes;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
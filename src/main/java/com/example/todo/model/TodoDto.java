@@ -0,0 +1,169 @@
+package com.example.todo.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+// Compact JSON shape of a todo for /api/todos and the page's inline data: only the fields the
+// UI shows, nulls omitted. PATCH follows JSON Merge Patch: a field left out stays unchanged,
+// and category, dueDate, notes and recurrence sent as null (or "") are cleared. A version, when
+// sent, must match the stored one (see Todo.version).
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoDto {
+
+    private Long id;
+    private String todoItem;
+    private Boolean completed;
+    private Priority priority;
+    private String category;
+    private LocalDate dueDate;
+    private String notes;
+    private String recurrence;
+    private Long version;
+    private Boolean archived;
+
+    // Clearable fields that were present in the request body, explicit nulls included
+    @JsonIgnore
+    private final Set<String> sent = new HashSet<>();
+
+    public TodoDto() {
+    }
+
+    public static TodoDto from(Todo todo) {
+        TodoDto dto = new TodoDto();
+        dto.id = todo.getId();
+        dto.todoItem = todo.getTodoItem();
+        dto.completed = todo.isCompleted();
+        dto.priority = todo.getPriority();
+        dto.category = todo.getCategory();
+        dto.dueDate = todo.getDueDate();
+        dto.notes = todo.getNotes();
+        dto.recurrence = todo.getRecurrence();
+        dto.version = todo.getVersion();
+        return dto;
+    }
+
+    // Archived todos are read-only: no version, and flagged for the UI
+    public static TodoDto from(ArchivedTodo todo) {
+        TodoDto dto = new TodoDto();
+        dto.id = todo.getId();
+        dto.todoItem = todo.getTodoItem();
+        dto.completed = todo.isCompleted();
+        dto.priority = todo.getPriority();
+        dto.category = todo.getCategory();
+        dto.dueDate = todo.getDueDate();
+        dto.notes = todo.getNotes();
+        dto.recurrence = todo.getRecurrence();
+        dto.archived = true;
+        return dto;
+    }
+
+    // New entity from a create request; unset fields get the Todo defaults
+    public Todo toTodo() {
+        Todo todo = new Todo(todoItem, Boolean.TRUE.equals(completed));
+        applyTo(todo);
+        return todo;
+    }
+
+    // Copies the fields that were sent onto an existing todo
+    public void applyTo(Todo todo) {
+        if (todoItem != null) todo.setTodoItem(todoItem);
+        if (completed != null) todo.setCompleted(completed);
+        if (priority != null) todo.setPriority(priority);
+        if (sent.contains("category")) todo.setCategory(emptyToNull(category));
+        if (sent.contains("dueDate")) todo.setDueDate(dueDate);
+        if (sent.contains("notes")) todo.setNotes(emptyToNull(notes));
+        if (sent.contains("recurrence")) todo.setRecurrence(emptyToNull(recurrence));
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTodoItem() {
+        return todoItem;
+    }
+
+    public void setTodoItem(String todoItem) {
+        this.todoItem = todoItem;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+        sent.add("category");
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+        sent.add("dueDate");
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+        sent.add("notes");
+    }
+
+    public String getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(String recurrence) {
+        this.recurrence = recurrence;
+        sent.add("recurrence");
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Boolean getArchived() {
+        return archived;
+    }
+
+    public void setArchived(Boolean archived) {
+        this.archived = archived;
+    }
+}
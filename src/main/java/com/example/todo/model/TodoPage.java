@@ -0,0 +1,39 @@
+package com.example.todo.model;
+
+import java.util.List;
+
+// One keyset page of todos plus the token to request the following page (null on the last page)
+public class TodoPage {
+
+    private final List<Todo> todos;
+    private final String sort;
+    private final int size;
+    private final String nextCursor;
+
+    public TodoPage(List<Todo> todos, String sort, int size, String nextCursor) {
+        this.todos = todos;
+        this.sort = sort;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Todo> getTodos() {
+        return todos;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
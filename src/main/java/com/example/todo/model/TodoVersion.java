@@ -0,0 +1,39 @@
+package com.example.todo.model;
+
+// Change version of one user's todo list: a strictly increasing last-modified time plus the
+// number of todos (so deletes, which leave no updatedAt behind, still change the tag).
+public class TodoVersion {
+
+    private final Long ownerId;
+    private final long lastModified;
+    private final long todoCount;
+
+    public TodoVersion(Long ownerId, long lastModified, long todoCount) {
+        this.ownerId = ownerId;
+        this.lastModified = lastModified;
+        this.todoCount = todoCount;
+    }
+
+    // Next version after a change; never reuses a timestamp, even within one millisecond
+    public TodoVersion next(long countDelta) {
+        return new TodoVersion(ownerId, Math.max(System.currentTimeMillis(), lastModified + 1), todoCount + countDelta);
+    }
+
+    // Entity tag for a representation of this version; "variant" distinguishes representations
+    // that also depend on something else (e.g. the HTML page on the date and session)
+    public String getETag(String variant) {
+        return ownerId + "-" + Long.toString(lastModified, 36) + "-" + todoCount + (variant != null ? "-" + variant : "");
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public long getTodoCount() {
+        return todoCount;
+    }
+}
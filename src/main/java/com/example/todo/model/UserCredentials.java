@@ -0,0 +1,28 @@
+package com.example.todo.model;
+
+// What a login needs from a user row: an immutable snapshot that the "users" cache can share
+// across requests, unlike a managed User entity
+public final class UserCredentials {
+
+    private final Long id;
+    private final String username;
+    private final String password;
+
+    public UserCredentials(Long id, String username, String password) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.todo.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.example.todo.model.ArchivedTodo;
+import com.example.todo.model.Priority;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+
+    // Copies todo rows into the archive in one INSERT ... SELECT; the caller deletes them after
+    @Modifying(flushAutomatically = true)
+    @Query("insert into ArchivedTodo (id, ownerId, todoItem, priority, category, dueDate, notes, recurrence,"
+            + " createdAt, updatedAt, archivedAt)"
+            + " select t.id, t.owner.id, t.todoItem, t.priority, t.category, t.dueDate, t.notes, t.recurrence,"
+            + " t.createdAt, t.updatedAt, :now from Todo t where t.id in :ids")
+    int copyFromTodos(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Same LIKE search as TodoRepository.searchByText; archived todos are all completed
+    @Query("select t from ArchivedTodo t"
+            + " where t.ownerId = :ownerId"
+            + " and (lower(t.todoItem) like lower(concat('%', :text, '%'))"
+            + " or lower(t.notes) like lower(concat('%', :text, '%')))"
+            + " and (:category is null or t.category = :category)"
+            + " and (:priority is null or t.priority = :priority)"
+            + " order by t.id desc")
+    List<ArchivedTodo> searchByText(@Param("ownerId") Long ownerId, @Param("text") String text,
+                                    @Param("category") String category, @Param("priority") Priority priority,
+                                    Limit limit);
+
+    // Forward-only, read-only scan of one user's archive for export (see TodoRepository.streamByOwner)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from ArchivedTodo t where t.ownerId = :ownerId order by t.id")
+    Stream<ArchivedTodo> streamByOwner(@Param("ownerId") Long ownerId);
+}
@@ -0,0 +1,25 @@
+package com.example.todo.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.todo.model.OutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    List<OutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(
+            OutboxMessage.Status status, LocalDateTime now, Limit limit);
+
+    long countByStatus(OutboxMessage.Status status);
+
+    @Query("select m.id from OutboxMessage m where m.status = :status and m.sentAt < :before order by m.id")
+    List<Long> findSentBefore(@Param("status") OutboxMessage.Status status, @Param("before") LocalDateTime before,
+                              Limit limit);
+}
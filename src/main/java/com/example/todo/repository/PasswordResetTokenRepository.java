@@ -0,0 +1,35 @@
+package com.example.todo.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.todo.model.PasswordResetToken;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+
+    // Unique index lookup on token_hash
+    @Query("select t from PasswordResetToken t join fetch t.user where t.tokenHash = :tokenHash")
+    Optional<PasswordResetToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Returns 0 when another request consumed the token first
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.id = :id")
+    int deleteTokenById(@Param("id") Long id);
+
+    // A new reset request replaces any outstanding token of the user
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Query("select t.id from PasswordResetToken t where t.expiresAt < :now order by t.id")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Limit limit);
+}
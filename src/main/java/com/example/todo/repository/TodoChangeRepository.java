@@ -0,0 +1,22 @@
+package com.example.todo.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import com.example.todo.model.TodoChange;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TodoChangeRepository extends JpaRepository<TodoChange, Long> {
+
+    // Changes since a journal id, oldest first (idx_todo_change_owner)
+    List<TodoChange> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long afterId, Limit limit);
+
+    Optional<TodoChange> findFirstByOrderByIdDesc();
+
+    // History of one todo, oldest first (idx_todo_change_todo)
+    List<TodoChange> findByTodoIdAndOwnerIdAndIdGreaterThanOrderByIdAsc(Long todoId, Long ownerId, Long afterId,
+                                                                      Limit limit);
+}
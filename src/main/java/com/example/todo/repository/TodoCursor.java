@@ -0,0 +1,65 @@
+package com.example.todo.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.todo.model.Todo;
+
+// Opaque "next page" token: the sort key and id of the last row on the previous page.
+public class TodoCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final TodoSort sort;
+    private final boolean nullPhase;
+    private final Object value;
+    private final long id;
+
+    public TodoCursor(TodoSort sort, boolean nullPhase, Object value, long id) {
+        this.sort = sort;
+        this.nullPhase = nullPhase;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static TodoCursor after(TodoSort sort, Todo last) {
+        Object value = sort.valueOf(last);
+        return new TodoCursor(sort, value == null, value, last.getId());
+    }
+
+    public TodoSort getSort() {
+        return sort;
+    }
+
+    public boolean isNullPhase() {
+        return nullPhase;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + (nullPhase ? "n" : "v") + SEPARATOR + id + SEPARATOR
+                + (nullPhase ? "" : value.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            TodoSort sort = TodoSort.valueOf(parts[0]);
+            boolean nullPhase = "n".equals(parts[1]);
+            long id = Long.parseLong(parts[2]);
+            Object value = nullPhase ? null : sort.parseValue(parts[3]);
+            return new TodoCursor(sort, nullPhase, value, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
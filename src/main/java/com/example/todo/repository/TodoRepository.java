@@ -1,13 +1,155 @@
 package com.example.todo.repository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.example.todo.model.Priority;
 import com.example.todo.model.Todo;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, Long> {
-    List<Todo> findByTodoItemContaining(String search);
-    List<Todo> findByCompleted(String status);
-    List<Todo> findByTodoItemContainingAndCompleted(String search, String status);
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoRepositoryCustom {
+    // Every finder is scoped to the owning user; only the rebuild scan below reads across owners.
+    // Owner_Id navigates the relation (Todo.getOwnerId() would otherwise shadow it).
+    Optional<Todo> findByIdAndOwner_Id(Long id, Long ownerId);
+
+    // LIKE-based text search over todoItem and notes, used by DatabaseTodoSearchService
+    // and while the search index is being built. Null filters match everything.
+    @Query("select t from Todo t"
+            + " where t.owner.id = :ownerId"
+            + " and (lower(t.todoItem) like lower(concat('%', :text, '%'))"
+            + " or lower(t.notes) like lower(concat('%', :text, '%')))"
+            + " and (:status is null or t.completed = :status)"
+            + " and (:category is null or t.category = :category)"
+            + " and (:priority is null or t.priority = :priority)"
+            + " order by t.id")
+    List<Todo> searchByText(@Param("ownerId") Long ownerId, @Param("text") String text, @Param("status") Boolean status,
+                            @Param("category") String category, @Param("priority") Priority priority,
+                            Limit limit);
+
+    // Forward-only, read-only scan of one user's todos for export. Rows arrive in fetch-size
+    // chunks (a server-side cursor on MySQL with useCursorFetch); the caller must consume the
+    // stream inside a transaction and detach each row once written.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Todo t where t.owner.id = :ownerId order by t.id")
+    Stream<Todo> streamByOwner(@Param("ownerId") Long ownerId);
+
+    // Id-ordered batches for rebuilding in-memory structures from the table
+    List<Todo> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Notification summary queries
+    long countByOwner_IdAndCompleted(Long ownerId, boolean completed);
+    long countByOwner_IdAndCompletedAndDueDateBefore(Long ownerId, boolean completed, LocalDate date);
+    List<Todo> findByOwner_IdAndCompletedAndDueDateBeforeOrderByDueDateAscIdAsc(Long ownerId, boolean completed,
+                                                                                LocalDate date, Limit limit);
+
+    // Seed of the per-user change version (ETag/Last-Modified of the listings)
+    @Query("select max(t.updatedAt) from Todo t where t.owner.id = :ownerId")
+    LocalDateTime findLastUpdatedAt(@Param("ownerId") Long ownerId);
+    long countByOwner_Id(Long ownerId);
+
+    // Dashboard statistics: grouped counts that seed the per-user aggregates (see TodoStatsService)
+    @Query("select t.category as category, t.priority as priority, t.completed as completed, count(t) as total "
+            + "from Todo t where t.owner.id = :ownerId group by t.category, t.priority, t.completed")
+    List<BreakdownCount> countBreakdown(@Param("ownerId") Long ownerId);
+
+    @Query("select t.dueDate as day, count(t) as total from Todo t where t.owner.id = :ownerId "
+            + "and t.completed = false and t.dueDate between :from and :to group by t.dueDate")
+    List<DailyCount> countPendingByDueDate(@Param("ownerId") Long ownerId, @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    @Query("select cast(t.createdAt as LocalDate) as day, count(t) as total from Todo t "
+            + "where t.owner.id = :ownerId and t.createdAt >= :since group by cast(t.createdAt as LocalDate)")
+    List<DailyCount> countCreatedByDay(@Param("ownerId") Long ownerId, @Param("since") LocalDateTime since);
+
+    @Query("select cast(t.completedAt as LocalDate) as day, count(t) as total from Todo t "
+            + "where t.owner.id = :ownerId and t.completed = true and t.completedAt >= :since "
+            + "group by cast(t.completedAt as LocalDate)")
+    List<DailyCount> countCompletedByDay(@Param("ownerId") Long ownerId, @Param("since") LocalDateTime since);
+
+    interface BreakdownCount {
+        String getCategory();
+        Priority getPriority();
+        boolean isCompleted();
+        long getTotal();
+    }
+
+    interface DailyCount {
+        LocalDate getDay();
+        long getTotal();
+    }
+
+    // Reminder window across owners: pending todos due up to "to", in (dueDate, id) keyset
+    // batches that follow idx_todo_status_due, so no batch sorts or rereads earlier rows
+    @Query("select t.id as id, t.owner.id as ownerId, t.dueDate as dueDate from Todo t"
+            + " where t.completed = false and t.dueDate <= :to"
+            + " and (t.dueDate > :afterDate or (t.dueDate = :afterDate and t.id > :afterId))"
+            + " order by t.dueDate, t.id")
+    List<DueTodo> findPendingDue(@Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                 @Param("to") LocalDate to, Limit limit);
+
+    // Recurring todos among a bulk completion, which continue their series first
+    @Query("select t from Todo t where t.owner.id = :ownerId and t.id in :ids"
+            + " and t.completed = false and t.recurrence is not null")
+    List<Todo> findPendingRecurring(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    // Archive batch: todos completed (last updated) before the cutoff, oldest first along
+    // idx_todo_status_updated. Locked so a todo reopened meanwhile cannot be moved half-way.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id as id, t.owner.id as ownerId from Todo t"
+            + " where t.completed = true and t.updatedAt < :cutoff order by t.updatedAt, t.id")
+    List<OwnedTodo> findArchivable(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    interface OwnedTodo {
+        Long getId();
+        Long getOwnerId();
+    }
+
+    interface DueTodo {
+        Long getId();
+        Long getOwnerId();
+        LocalDate getDueDate();
+    }
+
+    // Bulk operations: resolve the selection to owned ids, then one set-based statement per id chunk.
+    // Updates bump the version so edits based on a copy read before them are rejected as stale.
+    @Query("select t.id from Todo t where t.owner.id = :ownerId and t.id in :ids")
+    List<Long> findOwnedIds(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    @Query("select t.id from Todo t where t.owner.id = :ownerId and t.category = :category")
+    List<Long> findIdsByCategory(@Param("ownerId") Long ownerId, @Param("category") String category);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    // completedAt only changes on rows whose status flips
+    @Query("update Todo t set t.completed = :completed, t.completedAt = case when t.completed = :completed then t.completedAt"
+            + " when :completed = true then :now else null end, t.updatedAt = :now, t.version = t.version + 1"
+            + " where t.owner.id = :ownerId and t.id in :ids")
+    int updateCompleted(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids,
+                        @Param("completed") boolean completed, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.category = :category, t.updatedAt = :now, t.version = t.version + 1 where t.owner.id = :ownerId and t.id in :ids")
+    int updateCategory(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids,
+                       @Param("category") String category, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Todo t where t.owner.id = :ownerId and t.id in :ids")
+    int deleteOwned(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,13 @@
+package com.example.todo.repository;
+
+import java.util.List;
+
+import com.example.todo.model.Todo;
+
+public interface TodoRepositoryCustom {
+
+    // Keyset page ordered by (sort key, id), starting strictly after the cursor (or at the
+    // beginning when it is null). Never uses OFFSET, so deep pages cost the same as the first.
+    // Only the owner's todos are returned; a null status returns both completed and pending ones.
+    List<Todo> findPage(Long ownerId, Boolean status, TodoSort sort, TodoCursor after, int limit);
+}
@@ -0,0 +1,76 @@
+package com.example.todo.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import com.example.todo.model.Todo;
+
+public class TodoRepositoryImpl implements TodoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Todo> findPage(Long ownerId, Boolean status, TodoSort sort, TodoCursor after, int limit) {
+        List<Todo> page = new ArrayList<>();
+        if (after == null || !after.isNullPhase()) {
+            page.addAll(findValuePhase(ownerId, status, sort, after, limit));
+        }
+        if (sort.isNullable() && page.size() < limit) {
+            TodoCursor nullCursor = after != null && after.isNullPhase() ? after : null;
+            page.addAll(findNullPhase(ownerId, status, sort, nullCursor, limit - page.size()));
+        }
+        return page;
+    }
+
+    private List<Todo> findValuePhase(Long ownerId, Boolean status, TodoSort sort, TodoCursor after, int limit) {
+        String key = "t." + sort.getProperty();
+        StringBuilder jpql = new StringBuilder("select t from Todo t where t.owner.id = :ownerId and ")
+                .append(key).append(" is not null");
+        if (status != null) {
+            jpql.append(" and t.completed = :status");
+        }
+        if (after != null) {
+            jpql.append(" and (").append(key).append(" > :value or (")
+                .append(key).append(" = :value and t.id > :id))");
+        }
+        jpql.append(" order by ").append(key).append(" asc, t.id asc");
+
+        TypedQuery<Todo> query = entityManager.createQuery(jpql.toString(), Todo.class);
+        query.setParameter("ownerId", ownerId);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (after != null) {
+            query.setParameter("value", after.getValue());
+            query.setParameter("id", after.getId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private List<Todo> findNullPhase(Long ownerId, Boolean status, TodoSort sort, TodoCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("select t from Todo t where t.owner.id = :ownerId and t.")
+                .append(sort.getProperty()).append(" is null");
+        if (status != null) {
+            jpql.append(" and t.completed = :status");
+        }
+        if (after != null) {
+            jpql.append(" and t.id > :id");
+        }
+        jpql.append(" order by t.id asc");
+
+        TypedQuery<Todo> query = entityManager.createQuery(jpql.toString(), Todo.class);
+        query.setParameter("ownerId", ownerId);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (after != null) {
+            query.setParameter("id", after.getId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
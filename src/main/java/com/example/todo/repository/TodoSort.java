@@ -0,0 +1,58 @@
+package com.example.todo.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+
+// Sort keys supported by keyset pagination. Every key is paired with the id as a
+// tie-breaker, so (key, id) is unique and a page can resume strictly after its last row.
+public enum TodoSort {
+
+    DUE_DATE("dueDate", true, Todo::getDueDate, LocalDate::parse),
+    CREATED_AT("createdAt", false, Todo::getCreatedAt, LocalDateTime::parse),
+    PRIORITY("priority", true, Todo::getPriority, Priority::valueOf);
+
+    private final String property;
+    private final boolean nullable;
+    private final Function<Todo, Object> extractor;
+    private final Function<String, Object> parser;
+
+    TodoSort(String property, boolean nullable, Function<Todo, Object> extractor, Function<String, Object> parser) {
+        this.property = property;
+        this.nullable = nullable;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    // Nullable keys are paged in two phases: all non-null values in order, then the nulls by id
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public Object valueOf(Todo todo) {
+        return extractor.apply(todo);
+    }
+
+    public Object parseValue(String value) {
+        return parser.apply(value);
+    }
+
+    public static TodoSort fromParameter(String value) {
+        if (value == null || value.isEmpty()) {
+            return DUE_DATE;
+        }
+        for (TodoSort sort : values()) {
+            if (sort.property.equalsIgnoreCase(value) || sort.name().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + value);
+    }
+}
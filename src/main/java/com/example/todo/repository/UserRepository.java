@@ -1,15 +1,37 @@
 package com.example.todo.repository;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.example.todo.config.CacheConfig;
 import com.example.todo.model.User;
+import com.example.todo.model.UserCredentials;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    // Looked up on every login; cached in the bounded, expiring "users" cache (see CacheConfig)
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#p0", unless = "#result == null")
+    @Query("select new com.example.todo.model.UserCredentials(u.id, u.username, u.password)"
+            + " from User u where u.username = :username")
+    Optional<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
+    // Every user write goes through save(), so evicting here also covers
+    // UserService.saveUser/registerUser and PasswordResetService.resetPassword. The cache is
+    // transaction-aware, so the entry is dropped when the write commits, not before.
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#p0.username")
+    <S extends User> S save(S user);
+
+    List<User> findByUsernameOrEmail(String username, String email);
+
     Optional<User> findByEmail(String email);
-    Optional<User> findByResetToken(String resetToken);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
 }
\ No newline at end of file
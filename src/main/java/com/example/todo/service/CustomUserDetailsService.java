@@ -1,29 +1,43 @@
 package com.example.todo.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.example.todo.model.User;
+import com.example.todo.model.UserCredentials;
 import com.example.todo.repository.UserRepository;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+// Also a UserDetailsPasswordService: after a successful login Spring Security calls
+// updatePassword when the stored hash was made with a different BCrypt strength
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        // Served from the "users" cache; a fresh principal is built each time because
+        // Spring Security erases the credentials of the principal after authentication
+        UserCredentials user = userRepository.findCredentialsByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
         
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .authorities("USER") // You can add roles/authorities if you have them
-                .build();
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(),
+                AuthorityUtils.createAuthorityList("USER")); // You can add roles/authorities if you have them
     }
-}
\ No newline at end of file
+
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        
+        return new AuthenticatedUser(user.getId(), user.getUsername(), newPassword, userDetails.getAuthorities());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.todo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+import com.example.todo.repository.TodoRepository;
+
+import java.util.List;
+
+// Plain LIKE-based search; a full scan per query, kept for small installs and as a fallback
+@Service
+@ConditionalOnProperty(name = "todo.search.engine", havingValue = "database")
+public class DatabaseTodoSearchService implements TodoSearchService {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Todo> search(Long ownerId, String text, Boolean status, String category, Priority priority, int limit) {
+        return todoRepository.searchByText(ownerId, text, status, category, priority, Limit.of(limit));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.todo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+import com.example.todo.repository.TodoRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Default search engine: an in-process inverted index per owner, rebuilt from the repository
+// at startup and kept current from TodoChangedEvents. Until the rebuild finishes, queries
+// fall back to the database.
+@Service
+@ConditionalOnProperty(name = "todo.search.engine", havingValue = "index", matchIfMissing = true)
+public class IndexedTodoSearchService implements TodoSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexedTodoSearchService.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private final Map<Long, TodoSearchIndex> indexes = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Todo> search(Long ownerId, String text, Boolean status, String category, Priority priority, int limit) {
+        if (!ready) {
+            return todoRepository.searchByText(ownerId, text, status, category, priority, Limit.of(limit));
+        }
+
+        TodoSearchIndex index = indexes.get(ownerId);
+        List<Long> ids = index != null ? index.search(text, status, category, priority, limit) : List.of();
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Load the matched rows by primary key and restore the ranking order
+        Map<Long, Todo> byId = todoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        List<Todo> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Todo todo = byId.get(id);
+            if (todo != null) {
+                results.add(todo);
+            }
+        }
+        return results;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        indexes.clear();
+        int count = 0;
+
+        Long lastId = 0L;
+        List<Todo> batch;
+        do {
+            batch = todoRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_BATCH_SIZE));
+            for (Todo todo : batch) {
+                if (todo.getOwnerId() != null) {
+                    indexFor(todo.getOwnerId()).index(todo);
+                    count++;
+                }
+                lastId = todo.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        ready = true;
+        log.info("Indexed {} todos of {} users for search in {} ms", count, indexes.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Todo todo = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (todo.getOwnerId() == null) {
+            return;
+        }
+        if (event.getAfter() != null) {
+            indexFor(todo.getOwnerId()).index(todo);
+        } else {
+            indexFor(todo.getOwnerId()).remove(todo.getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        TodoSearchIndex index = indexFor(event.getOwnerId());
+        if (event.getType() == TodoChangedEvent.Type.DELETED) {
+            event.getIds().forEach(index::remove);
+            return;
+        }
+        // Set-based updates did not load the rows; read the changed ones back in batches
+        List<Long> ids = event.getIds();
+        for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+            todoRepository.findAllById(ids.subList(from, Math.min(from + REBUILD_BATCH_SIZE, ids.size())))
+                    .forEach(index::index);
+        }
+    }
+
+    private TodoSearchIndex indexFor(Long ownerId) {
+        return indexes.computeIfAbsent(ownerId, id -> new TodoSearchIndex());
+    }
+}
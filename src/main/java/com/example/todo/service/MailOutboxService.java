@@ -0,0 +1,156 @@
+package com.example.todo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.todo.model.OutboxMessage;
+import com.example.todo.repository.OutboxMessageRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Transactional outbox for e-mail. Callers only insert a row, inside their own transaction;
+// a scheduled dispatcher sends pending rows in batches, each batch over a single SMTP
+// connection, and retries failures with exponential backoff. Sent rows are purged once they
+// are older than sent-retention; failed ones stay for inspection.
+@Service
+public class MailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxService.class);
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${todo.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${todo.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${todo.mail.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${todo.mail.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${todo.mail.outbox.sent-retention:P7D}")
+    private Duration sentRetention;
+
+    @Value("${todo.mail.outbox.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    // Joins the caller's transaction so the message is stored only if the caller commits
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxMessage enqueue(String recipient, String subject, String body) {
+        return outboxMessageRepository.save(new OutboxMessage(recipient, subject, body));
+    }
+
+    @Scheduled(fixedDelayString = "${todo.mail.outbox.poll-interval:2000}")
+    public void dispatch() {
+        List<OutboxMessage> batch;
+        do {
+            batch = outboxMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(
+                    OutboxMessage.Status.PENDING, LocalDateTime.now(), Limit.of(batchSize));
+            if (!batch.isEmpty()) {
+                sendBatch(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(cron = "${todo.mail.outbox.purge-cron:0 0 * * * *}")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(sentRetention);
+        List<Long> sent;
+        do {
+            sent = outboxMessageRepository.findSentBefore(OutboxMessage.Status.SENT, cutoff, Limit.of(purgeBatchSize));
+            if (!sent.isEmpty()) {
+                outboxMessageRepository.deleteAllByIdInBatch(sent);
+            }
+        } while (sent.size() == purgeBatchSize);
+    }
+
+    private void sendBatch(List<OutboxMessage> batch) {
+        List<SimpleMailMessage> messages = new ArrayList<>(batch.size());
+        for (OutboxMessage outboxMessage : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(outboxMessage.getRecipient());
+            message.setSubject(outboxMessage.getSubject());
+            message.setText(outboxMessage.getBody());
+            messages.add(message);
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        MailException batchFailure = null;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            // JavaMailSenderImpl sends the whole array over one connection
+            mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            batchFailure = failures.isEmpty() ? e : null;
+        } catch (MailException e) {
+            batchFailure = e;
+        }
+        // One SMTP session per batch: time the batch, count the messages
+        sample.stop(Timer.builder("todo.mail.send")
+                .tag("outcome", batchFailure != null ? "error" : failures.isEmpty() ? "success" : "partial")
+                .register(meterRegistry));
+
+        LocalDateTime now = LocalDateTime.now();
+        int failed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxMessage outboxMessage = batch.get(i);
+            Exception failure = batchFailure != null ? batchFailure : failures.get(messages.get(i));
+            if (failure == null) {
+                outboxMessage.markSent();
+            } else {
+                failed++;
+                outboxMessage.markFailed(failure.getMessage(), retryAt(outboxMessage.getAttempts() + 1, now));
+            }
+        }
+        outboxMessageRepository.saveAll(batch);
+
+        messageCounter("sent").increment(batch.size() - failed);
+        messageCounter("failed").increment(failed);
+
+        if (failed > 0) {
+            log.warn("Mail outbox: {} of {} messages failed, will retry with backoff", failed, batch.size());
+        }
+    }
+
+    private Counter messageCounter(String result) {
+        return Counter.builder("todo.mail.messages").tag("result", result).register(meterRegistry);
+    }
+
+    // initialBackoff * 2^(attempt - 1), capped at maxBackoff; null once attempts are used up
+    private LocalDateTime retryAt(int attempt, LocalDateTime now) {
+        if (attempt >= maxAttempts) {
+            return null;
+        }
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return now.plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff);
+    }
+}
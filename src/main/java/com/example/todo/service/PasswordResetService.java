@@ -2,66 +2,120 @@ package com.example.todo.service;
 
 import org.springframework.stereotype.Service;
 
+import com.example.todo.model.PasswordResetToken;
 import com.example.todo.model.User;
+import com.example.todo.repository.PasswordResetTokenRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 public class PasswordResetService {
     
+    private static final int TOKEN_BYTES = 32;
+    
+    private final SecureRandom secureRandom = new SecureRandom();
+    
     @Autowired
     private UserService userService;
     
     @Autowired
-    private JavaMailSender mailSender;
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    
+    @Autowired
+    private MailOutboxService mailOutboxService;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Value("${todo.password-reset.purge-batch-size:1000}")
+    private int purgeBatchSize;
+    
+    // The token and its e-mail commit together; MailOutboxService delivers the mail afterwards
+    @Transactional
     public void initiatePasswordReset(String email) {
         User user = userService.findByEmail(email);
         if (user != null) {
-            String resetToken = UUID.randomUUID().toString();
-            user.setResetToken(resetToken);
-            user.setResetTokenExpiry(LocalDateTime.now().plusHours(1));
-            userService.saveUser(user);
+            byte[] bytes = new byte[TOKEN_BYTES];
+            secureRandom.nextBytes(bytes);
+            String resetToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+            
+            passwordResetTokenRepository.deleteByUserId(user.getId());
+            passwordResetTokenRepository.save(
+                    new PasswordResetToken(hash(resetToken), user, LocalDateTime.now().plusHours(1)));
             
             sendResetEmail(user.getEmail(), resetToken);
         }
     }
     
     public boolean validateResetToken(String token) {
-        User user = userService.findByResetToken(token);
-        return user != null && user.getResetTokenExpiry() != null && 
-               user.getResetTokenExpiry().isAfter(LocalDateTime.now());
+        return findValidToken(token).isPresent();
     }
     
+    // Validate and consume in one step: the token row is deleted before the password changes,
+    // and only the request whose delete actually removed the row may proceed
+    @Transactional
     public void resetPassword(String token, String newPassword) {
-        User user = userService.findByResetToken(token);
-        if (user != null && user.getResetTokenExpiry() != null && 
-            user.getResetTokenExpiry().isAfter(LocalDateTime.now())) {
-            user.setPassword(passwordEncoder.encode(newPassword));
-            user.setResetToken(null);
-            user.setResetTokenExpiry(null);
-            userService.saveUser(user);
-        } else {
+        PasswordResetToken resetToken = findValidToken(token)
+                .orElseThrow(() -> new RuntimeException("Invalid or expired reset token"));
+        if (passwordResetTokenRepository.deleteTokenById(resetToken.getId()) == 0) {
             throw new RuntimeException("Invalid or expired reset token");
         }
+        
+        User user = resetToken.getUser();
+        user.setPassword(passwordEncoder.encode(newPassword));
+        userService.saveUser(user);
+    }
+    
+    // Expired tokens are useless; remove them in bounded batches so the sweep never holds
+    // long locks on the table
+    @Scheduled(cron = "${todo.password-reset.purge-cron:0 */15 * * * *}")
+    public void purgeExpiredTokens() {
+        List<Long> expired;
+        do {
+            expired = passwordResetTokenRepository.findExpiredIds(LocalDateTime.now(), Limit.of(purgeBatchSize));
+            if (!expired.isEmpty()) {
+                passwordResetTokenRepository.deleteAllByIdInBatch(expired);
+            }
+        } while (expired.size() == purgeBatchSize);
+    }
+    
+    // Looked up by SHA-256 through the unique index: the raw token is never compared
+    // character by character, so response timing reveals nothing about it
+    private Optional<PasswordResetToken> findValidToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        return passwordResetTokenRepository.findByTokenHash(hash(token))
+                .filter(resetToken -> !resetToken.isExpired(LocalDateTime.now()));
+    }
+    
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
     
     private void sendResetEmail(String email, String token) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Password Reset Request");
-        message.setText("To reset your password, click the link below:\n\n"
+        mailOutboxService.enqueue(email, "Password Reset Request",
+                "To reset your password, click the link below:\n\n"
                 + "http://localhost:8080/reset-password?token=" + token + "\n\n"
                 + "This link will expire in 1 hour.");
-        
-        mailSender.send(message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.example.todo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.Todo;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers which users changed todos within the last "sticky-window", so that their own reads
+// stay on the primary until the replicas have caught up (see ReplicaRoutingDataSource)
+@Service
+@ConditionalOnProperty(name = "todo.datasource.replica-urls")
+public class ReadYourWritesTracker {
+
+    @Value("${todo.datasource.sticky-window:PT5S}")
+    private Duration stickyWindow;
+
+    // Owner id -> System.nanoTime() of the last committed change
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public boolean isRecentWriter() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof AuthenticatedUser principal)) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(principal.getId());
+        return lastWrite != null && System.nanoTime() - lastWrite < stickyWindow.toNanos();
+    }
+
+    public void recordWrite(Long ownerId) {
+        lastWrites.put(ownerId, System.nanoTime());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Todo todo = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (todo.getOwnerId() != null) {
+            recordWrite(todo.getOwnerId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        recordWrite(event.getOwnerId());
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void expire() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= stickyWindow.toNanos());
+    }
+}
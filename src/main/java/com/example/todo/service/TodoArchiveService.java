@@ -0,0 +1,107 @@
+package com.example.todo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.ArchivedTodo;
+import com.example.todo.model.Priority;
+import com.example.todo.repository.ArchivedTodoRepository;
+import com.example.todo.repository.TodoRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Hot/cold split of the todo table: todos completed longer than "after" ago move to
+// todo_archive, so listings, search, scans and the in-memory structures only deal with live
+// todos. The nightly job moves batch-size rows per transaction (copy, then delete by id); to
+// everything else a move looks like a bulk delete of the owner's todos. Archived todos stay
+// reachable through search and export with the include-archived option.
+@Service
+public class TodoArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoArchiveService.class);
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${todo.archive.after:P90D}")
+    private Duration archiveAfter;
+
+    @Value("${todo.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${todo.archive.cron:0 30 3 * * *}")
+    public long archive() {
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long moved = 0;
+        int count;
+        do {
+            count = transaction.execute(status -> archiveBatch(cutoff));
+            moved += count;
+        } while (count == batchSize);
+        if (moved > 0) {
+            log.info("Archived {} todos completed before {} in {} ms", moved, cutoff, System.currentTimeMillis() - start);
+        }
+        return moved;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<TodoRepository.OwnedTodo> batch = todoRepository.findArchivable(cutoff, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = batch.stream().map(TodoRepository.OwnedTodo::getId).toList();
+        archivedTodoRepository.copyFromTodos(ids, LocalDateTime.now());
+        todoRepository.deleteAllByIdInBatch(ids);
+
+        Map<Long, List<Long>> idsByOwner = batch.stream().collect(Collectors.groupingBy(
+                TodoRepository.OwnedTodo::getOwnerId,
+                Collectors.mapping(TodoRepository.OwnedTodo::getId, Collectors.toList())));
+        idsByOwner.forEach((ownerId, owned) ->
+                eventPublisher.publishEvent(new TodosBulkChangedEvent(TodoChangedEvent.Type.DELETED, ownerId, owned,
+                        Map.of("archived", true))));
+        Counter.builder("todo.archive.moved").register(meterRegistry).increment(ids.size());
+        return ids.size();
+    }
+
+    // Archived matches for an include-archived search; none when only pending todos are wanted
+    @Transactional(readOnly = true)
+    public List<ArchivedTodo> search(Long ownerId, String text, Boolean status, String category, Priority priority,
+                                     int limit) {
+        if (Boolean.FALSE.equals(status) || limit <= 0 || text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return archivedTodoRepository.searchByText(ownerId, text.trim(), category, priority, Limit.of(limit));
+    }
+}
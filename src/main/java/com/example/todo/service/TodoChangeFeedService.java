@@ -0,0 +1,235 @@
+package com.example.todo.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoDto;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Per-user server-sent event feed. Open connections are parked async requests, so an idle
+// dashboard holds no thread and costs nothing until one of its owner's todos changes:
+//   "todo"     - one todo created/updated/deleted (after commit)
+//   "todos"    - a bulk operation, with the affected ids
+//   "reminder" - pending todos due today, at the reminder hour (see TodoReminderService)
+//   "overdue"  - pending todos whose due date just passed, at midnight
+// Publishing only queues the event: each connection has its own bounded queue, drained in
+// order by a small sender pool. A client that stops reading blocks at most one sender thread,
+// until the container's write timeout fails the write. Once its queue fills up the connection
+// is dropped and the browser reconnects.
+@Service
+public class TodoChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoChangeFeedService.class);
+
+    @Value("${todo.feed.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${todo.feed.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${todo.feed.sender-threads:4}")
+    private int senderThreads;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    private ExecutorService sender;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "todo-feed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Browsers reconnect on their own once the timeout closes the stream
+    public SseEmitter subscribe(Long ownerId) {
+        return subscribe(ownerId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Long ownerId, SseEmitter emitter) {
+        Connection connection = new Connection(ownerId, emitter);
+        connections.compute(ownerId, (id, owned) -> {
+            Set<Connection> updated = owned != null ? owned : new CopyOnWriteArraySet<>();
+            updated.add(connection);
+            return updated;
+        });
+        emitter.onCompletion(() -> unsubscribe(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(connection));
+        // Commits the response headers right away so the client sees the stream as open
+        connection.offer(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public boolean isSubscribed(Long ownerId) {
+        return connections.containsKey(ownerId);
+    }
+
+    public int getConnectionCount() {
+        return connections.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Todo todo = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (todo.getOwnerId() == null || !connections.containsKey(todo.getOwnerId())) {
+            return;
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("type", event.getType());
+        data.put("id", todo.getId());
+        if (event.getAfter() != null) {
+            data.put("todo", TodoDto.from(event.getAfter()));
+        }
+        publish(todo.getOwnerId(), "todo", data);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        if (!connections.containsKey(event.getOwnerId())) {
+            return;
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("type", event.getType());
+        data.put("ids", event.getIds());
+        publish(event.getOwnerId(), "todos", data);
+    }
+
+    // Keeps proxies from closing idle streams and drops connections whose client went away
+    @Scheduled(fixedDelayString = "${todo.feed.heartbeat-interval:25000}")
+    public void heartbeat() {
+        connections.values().forEach(owned -> owned.forEach(connection ->
+                connection.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        connections.values().forEach(owned -> owned.forEach(connection -> connection.emitter.complete()));
+        connections.clear();
+    }
+
+    // Queues one named event for every open stream of the user; a no-op when there is none
+    public void publish(Long ownerId, String name, Object data) {
+        Set<Connection> owned = connections.get(ownerId);
+        if (owned == null) {
+            return;
+        }
+        owned.forEach(connection ->
+                connection.offer(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON)));
+    }
+
+    private void unsubscribe(Connection connection) {
+        connections.computeIfPresent(connection.ownerId, (id, owned) -> {
+            owned.remove(connection);
+            return owned.isEmpty() ? null : owned;
+        });
+    }
+
+    // One open stream. Events are sent by at most one sender thread at a time, in queue order.
+    // SseEmitter.send and complete share a lock, so a connection is only ever completed by
+    // its own drain and never by a publisher that might wait behind a blocked write.
+    private final class Connection {
+
+        private final Long ownerId;
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Connection(Long ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            boolean overflow = false;
+            boolean schedule;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() < queueCapacity) {
+                    queue.add(event);
+                } else {
+                    overflow = true;
+                    closed = true;
+                    queue.clear();
+                }
+                schedule = !draining;
+                draining = true;
+            }
+            if (overflow) {
+                log.debug("Dropping change feed connection of user {}: {} events behind", ownerId, queueCapacity);
+                unsubscribe(this);
+            }
+            if (schedule) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                }
+            }
+        }
+
+        private void drain() {
+            Throwable failure = null;
+            while (failure == null) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    if (closed) {
+                        break;
+                    }
+                    event = queue.poll();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping change feed connection of user {}: {}", ownerId, e.getMessage());
+                    synchronized (this) {
+                        closed = true;
+                        queue.clear();
+                    }
+                    unsubscribe(this);
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                emitter.completeWithError(failure);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.todo.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.todo.model.Priority;
+import com.example.todo.model.Recurrence;
+import com.example.todo.model.Todo;
+
+// RFC 4180 style CSV for todo export/import. Records are written and read one at a time, so
+// neither direction ever holds more than a single row; quoted fields may span lines.
+public class TodoCsv {
+
+    public static final List<String> COLUMNS = List.of(
+            "id", "todoItem", "completed", "priority", "category", "dueDate", "notes", "createdAt", "updatedAt", "recurrence");
+
+    private final Reader in;
+    private Map<String, Integer> header;
+    private long record;
+
+    // Characters pushed back after looking one past a closing quote
+    private int pending = -2;
+
+    public TodoCsv(Reader in) {
+        this.in = in;
+    }
+
+    public static void writeHeader(Writer out) throws IOException {
+        out.write(String.join(",", COLUMNS));
+        out.write("\r\n");
+    }
+
+    public static void write(Todo todo, Writer out) throws IOException {
+        writeField(out, todo.getId(), true);
+        writeField(out, todo.getTodoItem(), false);
+        writeField(out, todo.isCompleted(), false);
+        writeField(out, todo.getPriority() != null ? todo.getPriority().getLabel() : null, false);
+        writeField(out, todo.getCategory(), false);
+        writeField(out, todo.getDueDate(), false);
+        writeField(out, todo.getNotes(), false);
+        writeField(out, todo.getCreatedAt(), false);
+        writeField(out, todo.getUpdatedAt(), false);
+        writeField(out, todo.getRecurrence(), false);
+        out.write("\r\n");
+    }
+
+    // Next todo of the upload, or null at the end. The first record must be the header;
+    // columns are matched by name, so their order and any extra columns do not matter.
+    public Todo next() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) {
+                return null;
+            }
+            header = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                header.put(names.get(i).trim(), i);
+            }
+            if (!header.containsKey("todoItem")) {
+                throw new IllegalArgumentException("CSV header must contain a todoItem column");
+            }
+        }
+
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+        try {
+            return toTodo(fields);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid CSV record " + record + ": " + e.getMessage(), e);
+        }
+    }
+
+    public long getRecord() {
+        return record;
+    }
+
+    private Todo toTodo(List<String> fields) {
+        Todo todo = new Todo(field(fields, "todoItem"), false);
+        String completed = field(fields, "completed");
+        todo.setCompleted(completed != null
+                && (completed.equalsIgnoreCase("true") || completed.equalsIgnoreCase("Yes")));
+        String priority = field(fields, "priority");
+        if (priority != null) {
+            todo.setPriority(Priority.fromLabel(priority));
+        }
+        String category = field(fields, "category");
+        if (category != null) {
+            todo.setCategory(category);
+        }
+        String dueDate = field(fields, "dueDate");
+        todo.setDueDate(dueDate != null ? LocalDate.parse(dueDate) : null);
+        todo.setNotes(field(fields, "notes"));
+        String recurrence = field(fields, "recurrence");
+        if (recurrence != null) {
+            todo.setRecurrence(Recurrence.parse(recurrence).toString());
+        }
+        String createdAt = field(fields, "createdAt");
+        if (createdAt != null) {
+            todo.setCreatedAt(LocalDateTime.parse(createdAt));
+        }
+        return todo;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pending = next;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field in CSV record " + (record + 1));
+        }
+        fields.add(field.toString());
+        record++;
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private static void writeField(Writer out, Object value, boolean first) throws IOException {
+        if (!first) {
+            out.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            out.write('"');
+            out.write(text.replace("\"", "\"\""));
+            out.write('"');
+        } else {
+            out.write(text);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.todo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.standard.serializer.StandardSerializers;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.RenderedTodoPage;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoDto;
+import com.example.todo.model.TodoPage;
+import com.example.todo.model.TodoVersion;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Rendered todo pages per user and listing parameters. An entry is only served while it carries
+// the user's current TodoVersion, and a user's entries are dropped when their todos change, so
+// only that user's pages are rebuilt. Bounded by the total size of the rendered scripts.
+@Service
+public class TodoFragmentCache {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 0 disables caching (every page is rendered)
+    @Value("${todo.fragments.max-chars:20000000}")
+    private long maxChars;
+
+    private Cache<Key, RenderedTodoPage> pages;
+
+    // Keys cached per owner, so a change evicts exactly that user's pages
+    private final Map<Long, Set<Key>> keysByOwner = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        pages = Caffeine.newBuilder()
+                .maximumWeight(maxChars)
+                .<Key, RenderedTodoPage>weigher((key, page) -> page.getTodosScript().length())
+                .evictionListener((key, page, cause) -> {
+                    Set<Key> keys = key != null ? keysByOwner.get(key.ownerId) : null;
+                    if (keys != null) {
+                        keys.remove(key);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "todoFragments");
+    }
+
+    public RenderedTodoPage getPage(TodoVersion version, Boolean status, String sort, String cursor, Integer size) {
+        Key key = new Key(version.getOwnerId(), status, sort, cursor, size);
+        String versionTag = version.getETag(null);
+        RenderedTodoPage page = pages.getIfPresent(key);
+        if (page != null && page.getVersionTag().equals(versionTag)) {
+            return page;
+        }
+
+        TodoPage todoPage = todoService.findPage(version.getOwnerId(), status, sort, cursor, size);
+        page = new RenderedTodoPage(versionTag, render(todoPage.getTodos()), todoPage.getSort(),
+                todoPage.getSize(), todoPage.getNextCursor());
+        keysByOwner.computeIfAbsent(key.ownerId, id -> ConcurrentHashMap.newKeySet()).add(key);
+        pages.put(key, page);
+        return page;
+    }
+
+    // Serialized exactly like /*[[${todos}]]*/ inlining would, so it is safe to emit unescaped
+    public String render(List<Todo> todos) {
+        StringWriter writer = new StringWriter();
+        StandardSerializers.getJavaScriptSerializer(templateEngine.getConfiguration())
+                .serializeValue(todos.stream().map(TodoDto::from).toList(), writer);
+        return writer.toString();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Todo todo = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (todo.getOwnerId() != null) {
+            evict(todo.getOwnerId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        evict(event.getOwnerId());
+    }
+
+    private void evict(Long ownerId) {
+        Set<Key> keys = keysByOwner.remove(ownerId);
+        if (keys != null) {
+            pages.invalidateAll(keys);
+        }
+    }
+
+    private static final class Key {
+
+        private final Long ownerId;
+        private final Boolean status;
+        private final String sort;
+        private final String cursor;
+        private final Integer size;
+
+        Key(Long ownerId, Boolean status, String sort, String cursor, Integer size) {
+            this.ownerId = ownerId;
+            this.status = status;
+            this.sort = sort;
+            this.cursor = cursor;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key key)) {
+                return false;
+            }
+            return ownerId.equals(key.ownerId) && Objects.equals(status, key.status) && Objects.equals(sort, key.sort)
+                    && Objects.equals(cursor, key.cursor) && Objects.equals(size, key.size);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ownerId, status, sort, cursor, size);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.todo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoChange;
+import com.example.todo.repository.TodoChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Write-behind change journal. After each commit the changed fields of every todo are put on a
+// bounded in-memory queue, and one writer thread inserts them into todo_change in batches, so
+// requests never wait on the journal. When the queue is full the entry is dropped and counted
+// (todo.journal.dropped) rather than blocking the request. Entries become visible shortly after
+// the change itself; the journal id is the version clients sync from.
+//
+// Delivery is best-effort and ordered for a single instance only. Ids grow in write order
+// because one writer takes them from its own sequence block; several instances each hold a block,
+// so an entry can commit later with a lower id than one a client already saw. Lost entries (full
+// queue, failed batch) are remembered per user in memory: a sync from before the loss is told to
+// reload instead (see isIncomplete). That memory does not survive a restart.
+@Service
+public class TodoJournalService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoJournalService.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private TodoChangeRepository todoChangeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${todo.journal.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${todo.journal.batch-size:500}")
+    private int batchSize;
+
+    private BlockingQueue<Pending> queue;
+
+    private Counter written;
+
+    private Counter dropped;
+
+    private volatile boolean running = true;
+
+    // Highest journal id written so far
+    private volatile long lastWrittenId;
+
+    // Per user: the highest journal id written before one of their entries was lost. A client
+    // whose cursor is not past it may have missed that change.
+    private final Map<Long, Long> lostAfter = new ConcurrentHashMap<>();
+
+    private final Thread writer = new Thread(this::write, "todo-journal");
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        written = Counter.builder("todo.journal.written").register(meterRegistry);
+        dropped = Counter.builder("todo.journal.dropped").register(meterRegistry);
+        Gauge.builder("todo.journal.queue", queue, BlockingQueue::size).register(meterRegistry);
+        lastWrittenId = todoChangeRepository.findFirstByOrderByIdDesc().map(TodoChange::getId).orElse(0L);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Lets the writer finish its batch, then writes whatever is still queued
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            flush(rest.subList(from, Math.min(from + batchSize, rest.size())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Todo todo = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        Map<String, Object> changes = diff(event.getBefore(), event.getAfter());
+        if (todo.getOwnerId() != null && !changes.isEmpty()) {
+            enqueue(new Pending(todo.getOwnerId(), todo.getId(), event.getType(), changes, LocalDateTime.now()));
+        }
+    }
+
+    // Set-based changes only know the values they set; bulk creates are journalled without fields
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        event.getChanges().forEach((field, value) -> changes.put(field, Map.of("to", value)));
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : event.getIds()) {
+            enqueue(new Pending(event.getOwnerId(), id, event.getType(), changes, now));
+        }
+    }
+
+    // Journal entries of the user after the given id, oldest first
+    @Transactional(readOnly = true)
+    public List<TodoChange> changesSince(Long ownerId, long afterId, int limit) {
+        return todoChangeRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerId, afterId, Limit.of(limit));
+    }
+
+    // True when entries of the user may be missing after the given id; the client should reload
+    // its todos and continue from getLastWrittenId()
+    public boolean isIncomplete(Long ownerId, long afterId) {
+        Long lost = lostAfter.get(ownerId);
+        return lost != null && afterId <= lost;
+    }
+
+    // Past every loss and every written entry; anything still queued gets a higher id
+    public long getLastWrittenId() {
+        return lastWrittenId;
+    }
+
+    // History of one of the user's todos after the given id, oldest first; deleted and archived
+    // todos keep theirs
+    @Transactional(readOnly = true)
+    public List<TodoChange> history(Long ownerId, long todoId, long afterId, int limit) {
+        return todoChangeRepository.findByTodoIdAndOwnerIdAndIdGreaterThanOrderByIdAsc(todoId, ownerId, afterId,
+                Limit.of(limit));
+    }
+
+    // The fields that differ between two states of a todo: {"field": {"from": old, "to": new}}.
+    // A create (no before) only has "to", a delete (no after) only "from".
+    static Map<String, Object> diff(Todo before, Todo after) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        field(changes, "todoItem", before, after, Todo::getTodoItem);
+        field(changes, "completed", before, after, Todo::isCompleted);
+        field(changes, "priority", before, after, Todo::getPriority);
+        field(changes, "category", before, after, Todo::getCategory);
+        field(changes, "dueDate", before, after, Todo::getDueDate);
+        field(changes, "notes", before, after, Todo::getNotes);
+        field(changes, "recurrence", before, after, Todo::getRecurrence);
+        return changes;
+    }
+
+    private static void field(Map<String, Object> changes, String name, Todo before, Todo after,
+                              Function<Todo, Object> value) {
+        Object from = before != null ? value.apply(before) : null;
+        Object to = after != null ? value.apply(after) : null;
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        Map<String, Object> change = new LinkedHashMap<>();
+        if (before != null) {
+            change.put("from", from);
+        }
+        if (after != null) {
+            change.put("to", to);
+        }
+        changes.put(name, change);
+    }
+
+    private void enqueue(Pending pending) {
+        if (!queue.offer(pending)) {
+            lost(List.of(pending));
+        }
+    }
+
+    private void lost(List<Pending> entries) {
+        long after = lastWrittenId;
+        for (Pending pending : entries) {
+            lostAfter.merge(pending.ownerId, after, Math::max);
+        }
+        dropped.increment(entries.size());
+    }
+
+    private void write() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // One transaction per batch; Hibernate sends the inserts as JDBC batches. A failing batch is
+    // retried a few times and then dropped, so one bad entry cannot stall the journal.
+    private void flush(List<Pending> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // Fresh entities on every attempt: a failed insert leaves ids assigned
+                List<TodoChange> changes = batch.stream().map(this::toChange).toList();
+                new TransactionTemplate(transactionManager).executeWithoutResult(
+                        status -> todoChangeRepository.saveAll(changes));
+                written.increment(changes.size());
+                lastWrittenId = Math.max(lastWrittenId, changes.get(changes.size() - 1).getId());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    log.error("Dropping {} journal entries after {} attempts", batch.size(), attempt, e);
+                    lost(batch);
+                    return;
+                }
+                log.warn("Writing {} journal entries failed, retrying", batch.size(), e);
+                try {
+                    Thread.sleep(attempt * 1000L);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private TodoChange toChange(Pending pending) {
+        try {
+            return new TodoChange(pending.ownerId, pending.todoId, pending.type,
+                    objectMapper.writeValueAsString(pending.changes), pending.changedAt);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Pending {
+
+        private final Long ownerId;
+        private final Long todoId;
+        private final TodoChangedEvent.Type type;
+        private final Map<String, Object> changes;
+        private final LocalDateTime changedAt;
+
+        Pending(Long ownerId, Long todoId, TodoChangedEvent.Type type, Map<String, Object> changes,
+                LocalDateTime changedAt) {
+            this.ownerId = ownerId;
+            this.todoId = todoId;
+            this.type = type;
+            this.changes = changes;
+            this.changedAt = changedAt;
+        }
+    }
+}
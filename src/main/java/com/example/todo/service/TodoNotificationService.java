@@ -0,0 +1,190 @@
+package com.example.todo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.Todo;
+import com.example.todo.repository.TodoRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps the pending/overdue counters shown on every todos page up to date incrementally,
+// so rendering the notification panel never has to scan the todo table. One summary is
+// kept per user, loaded on that user's first page view.
+@Service
+public class TodoNotificationService {
+
+    private static final Comparator<Todo> OVERDUE_ORDER = Comparator
+            .comparing(Todo::getDueDate)
+            .thenComparing(Todo::getId);
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${todo.notifications.overdue-limit:20}")
+    private int overdueLimit;
+
+    private final Map<Long, Summary> summaries = new ConcurrentHashMap<>();
+
+    public Map<String, Object> getNotificationData(Long ownerId) {
+        return summaries.computeIfAbsent(ownerId, Summary::new).getSnapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Todo todo = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        Summary summary = summaries.get(todo.getOwnerId());
+        if (summary != null) {
+            summary.apply(event.getBefore(), event.getAfter());
+        }
+        // Otherwise nothing is cached yet; the first read will load fresh counts
+    }
+
+    // Bulk changes carry no before/after images to apply as deltas; reload that user's counters
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        summaries.remove(event.getOwnerId());
+    }
+
+    // Nightly rollover: todos whose due date just passed become overdue. Summaries are dropped
+    // and reloaded with indexed count queries on the next read, which also corrects any drift.
+    @Scheduled(cron = "${todo.notifications.rollover-cron:0 0 0 * * *}")
+    public void rollover() {
+        summaries.clear();
+    }
+
+    // Only the reloads open a transaction; serving a cached snapshot needs no connection. They
+    // read the primary, as the stats seed does (see TodoStatsService.seedTransaction).
+    private TransactionTemplate seedTransaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private class Summary {
+
+        private final Long ownerId;
+
+        // Guards the mutable state. A lock rather than synchronized: reload() runs queries, and
+        // blocking inside a monitor would pin the carrier thread in virtual-thread mode.
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // Mutable state, guarded by "lock"
+        private LocalDate asOf;
+        private long pendingCount;
+        private long overdueCount;
+        private List<Todo> overdueTodos = new ArrayList<>();
+
+        // Immutable view handed out to page renders
+        private volatile Map<String, Object> snapshot;
+
+        Summary(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        Map<String, Object> getSnapshot() {
+            Map<String, Object> current = snapshot;
+            if (current == null || !LocalDate.now().equals(current.get("asOf"))) {
+                lock.lock();
+                try {
+                    if (snapshot == null || !LocalDate.now().equals(asOf)) {
+                        reload();
+                    }
+                    current = snapshot;
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return current;
+        }
+
+        void apply(Todo before, Todo after) {
+            lock.lock();
+            try {
+                applyLocked(before, after);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void applyLocked(Todo before, Todo after) {
+            if (snapshot == null) {
+                return;
+            }
+
+            if (isPending(before)) pendingCount--;
+            if (isPending(after)) pendingCount++;
+
+            if (isOverdue(before)) {
+                overdueCount--;
+                Long id = before.getId();
+                overdueTodos.removeIf(todo -> todo.getId().equals(id));
+            }
+            if (isOverdue(after)) {
+                overdueCount++;
+                overdueTodos.add(after);
+                overdueTodos.sort(OVERDUE_ORDER);
+                if (overdueTodos.size() > overdueLimit) {
+                    overdueTodos.remove(overdueTodos.size() - 1);
+                }
+            }
+
+            // The bounded list lost an entry that we cannot replace from memory
+            if (overdueTodos.size() < overdueLimit && overdueTodos.size() < overdueCount) {
+                overdueTodos = loadOverdueTodos();
+            }
+
+            publishSnapshot();
+        }
+
+        private void reload() {
+            asOf = LocalDate.now();
+            seedTransaction().executeWithoutResult(status -> {
+                pendingCount = todoRepository.countByOwner_IdAndCompleted(ownerId, false);
+                overdueCount = todoRepository.countByOwner_IdAndCompletedAndDueDateBefore(ownerId, false, asOf);
+                overdueTodos = loadOverdueTodos();
+            });
+            publishSnapshot();
+        }
+
+        private List<Todo> loadOverdueTodos() {
+            return seedTransaction().execute(status ->
+                    new ArrayList<>(todoRepository.findByOwner_IdAndCompletedAndDueDateBeforeOrderByDueDateAscIdAsc(
+                            ownerId, false, asOf, Limit.of(overdueLimit))));
+        }
+
+        private void publishSnapshot() {
+            Map<String, Object> notificationData = new HashMap<>();
+            notificationData.put("asOf", asOf);
+            notificationData.put("pendingCount", pendingCount);
+            notificationData.put("overdueCount", overdueCount);
+            notificationData.put("overdueTodos", Collections.unmodifiableList(new ArrayList<>(overdueTodos)));
+            snapshot = Collections.unmodifiableMap(notificationData);
+        }
+
+        private boolean isPending(Todo todo) {
+            return todo != null && !todo.isCompleted();
+        }
+
+        private boolean isOverdue(Todo todo) {
+            return isPending(todo) && todo.getDueDate() != null && todo.getDueDate().isBefore(asOf);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.todo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoDto;
+import com.example.todo.repository.TodoRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// Pushes due-date reminders and overdue transitions on the change feed at the moment they
+// happen. Pending todos due within the next window-days are held in a delay queue ordered by
+// fire time; one dispatcher thread sleeps until the earliest one is due. Each todo has one live
+// reminder: "reminder" at the configured hour of its due date, then "overdue" at the following
+// midnight. The window is loaded with an indexed dueDate range query at startup and extended by
+// one day's rows each night; changes in between arrive as TodoChangedEvents.
+@Service
+public class TodoReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoReminderService.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoChangeFeedService todoChangeFeedService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${todo.reminders.hour:9}")
+    private int reminderHour;
+
+    @Value("${todo.reminders.window-days:2}")
+    private int windowDays;
+
+    private final DelayQueue<Reminder> queue = new DelayQueue<>();
+
+    // The live reminder of each todo. Queue entries that are no longer in here were cancelled
+    // or replaced; they are skipped when they come due rather than searched for and removed.
+    private final Map<Long, Reminder> scheduled = new ConcurrentHashMap<>();
+
+    // Last due date covered by the window; todos due later are loaded by the nightly refill
+    private volatile LocalDate horizon;
+
+    private final Thread dispatcher = new Thread(this::dispatch, "todo-reminders");
+
+    // Fire times and the window follow this clock; tests move it instead of waiting
+    private Clock clock = Clock.systemDefaultZone();
+
+    @PostConstruct
+    public void init() {
+        dispatcher.setDaemon(true);
+        Gauge.builder("todo.reminders.scheduled", scheduled, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long start = System.currentTimeMillis();
+        int count = loadWindow();
+        dispatcher.start();
+        log.info("Scheduled reminders for {} todos due by {} in {} ms", count, horizon,
+                System.currentTimeMillis() - start);
+    }
+
+    int loadWindow() {
+        LocalDate today = LocalDate.now(clock);
+        horizon = today.plusDays(windowDays);
+        return load(today, horizon);
+    }
+
+    // Moves the window forward; only the days that just entered it are read
+    @Scheduled(cron = "${todo.reminders.refill-cron:0 0 0 * * *}")
+    public void refill() {
+        LocalDate current = horizon;
+        LocalDate next = LocalDate.now(clock).plusDays(windowDays);
+        if (current != null && next.isAfter(current)) {
+            horizon = next;
+            load(current.plusDays(1), next);
+        }
+    }
+
+    public int getScheduledCount() {
+        return scheduled.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.interrupt();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Todo todo = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (todo.getOwnerId() != null) {
+            reschedule(todo.getId(), event.getAfter());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        if (event.getType() == TodoChangedEvent.Type.DELETED) {
+            event.getIds().forEach(scheduled::remove);
+            return;
+        }
+        // Set-based updates did not load the rows; read the changed ones back in batches
+        List<Long> ids = event.getIds();
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+            todoRepository.findAllById(ids.subList(from, Math.min(from + LOAD_BATCH_SIZE, ids.size())))
+                    .forEach(todo -> reschedule(todo.getId(), todo));
+        }
+    }
+
+    private void reschedule(Long id, Todo todo) {
+        LocalDate window = horizon;
+        if (window == null) {
+            return;
+        }
+        if (todo == null || todo.isCompleted() || todo.getDueDate() == null || todo.getDueDate().isAfter(window)) {
+            scheduled.remove(id);
+            return;
+        }
+        Reminder current = scheduled.get(id);
+        if (current == null || !current.dueDate.equals(todo.getDueDate())) {
+            schedule(id, todo.getOwnerId(), todo.getDueDate(), true);
+        }
+    }
+
+    private int load(LocalDate from, LocalDate to) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            int count = 0;
+            LocalDate afterDate = from;
+            Long afterId = 0L;
+            List<TodoRepository.DueTodo> batch;
+            do {
+                batch = todoRepository.findPendingDue(afterDate, afterId, to, Limit.of(LOAD_BATCH_SIZE));
+                for (TodoRepository.DueTodo todo : batch) {
+                    // Loaded rows never override a reminder set from a newer change event
+                    schedule(todo.getId(), todo.getOwnerId(), todo.getDueDate(), false);
+                    afterDate = todo.getDueDate();
+                    afterId = todo.getId();
+                    count++;
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            return count;
+        });
+    }
+
+    private void schedule(Long id, Long ownerId, LocalDate dueDate, boolean replace) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Reminder reminder;
+        if (now.isBefore(dueDate.atTime(reminderHour, 0))) {
+            reminder = new Reminder(id, ownerId, dueDate, Kind.DUE, dueDate.atTime(reminderHour, 0));
+        } else if (now.isBefore(dueDate.plusDays(1).atStartOfDay())) {
+            reminder = new Reminder(id, ownerId, dueDate, Kind.OVERDUE, dueDate.plusDays(1).atStartOfDay());
+        } else {
+            // Already overdue: nothing left to announce
+            scheduled.remove(id);
+            return;
+        }
+        if (replace) {
+            scheduled.put(id, reminder);
+        } else if (scheduled.putIfAbsent(id, reminder) != null) {
+            return;
+        }
+        queue.add(reminder);
+    }
+
+    private void dispatch() {
+        List<Reminder> due = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // Everything due at the same instant (typically midnight) goes out in one pass
+                due.add(queue.take());
+                queue.drainTo(due);
+                fire(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Sending {} reminders failed", due.size(), e);
+            } finally {
+                due.clear();
+            }
+        }
+    }
+
+    // Fires whatever is due right now, as the dispatcher does when the earliest reminder comes due
+    void fireDue() {
+        List<Reminder> due = new ArrayList<>();
+        queue.drainTo(due);
+        fire(due);
+    }
+
+    private void fire(List<Reminder> due) {
+        Map<Long, List<Reminder>> byOwner = new HashMap<>();
+        for (Reminder reminder : due) {
+            if (reminder.kind == Kind.DUE) {
+                // The todo stays scheduled for its overdue transition
+                Reminder overdue = new Reminder(reminder.todoId, reminder.ownerId, reminder.dueDate, Kind.OVERDUE,
+                        reminder.dueDate.plusDays(1).atStartOfDay());
+                if (!scheduled.replace(reminder.todoId, reminder, overdue)) {
+                    continue;
+                }
+                queue.add(overdue);
+            } else if (!scheduled.remove(reminder.todoId, reminder)) {
+                continue;
+            }
+            Counter.builder("todo.reminders.fired").tag("kind", reminder.kind.event).register(meterRegistry).increment();
+            if (todoChangeFeedService.isSubscribed(reminder.ownerId)) {
+                byOwner.computeIfAbsent(reminder.ownerId, id -> new ArrayList<>()).add(reminder);
+            }
+        }
+        if (byOwner.isEmpty()) {
+            return;
+        }
+
+        // Push the current rows, and never a todo that was completed, moved or deleted meanwhile
+        List<Long> ids = byOwner.values().stream().flatMap(List::stream).map(reminder -> reminder.todoId).toList();
+        Map<Long, Todo> current = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+            todoRepository.findAllById(ids.subList(from, Math.min(from + LOAD_BATCH_SIZE, ids.size())))
+                    .forEach(todo -> current.put(todo.getId(), todo));
+        }
+        byOwner.forEach((ownerId, reminders) -> {
+            Map<Kind, List<TodoDto>> todos = new HashMap<>();
+            for (Reminder reminder : reminders) {
+                Todo todo = current.get(reminder.todoId);
+                if (todo != null && !todo.isCompleted() && reminder.dueDate.equals(todo.getDueDate())) {
+                    todos.computeIfAbsent(reminder.kind, kind -> new ArrayList<>()).add(TodoDto.from(todo));
+                }
+            }
+            todos.forEach((kind, dtos) -> todoChangeFeedService.publish(ownerId, kind.event, Map.of("todos", dtos)));
+        });
+    }
+
+    private enum Kind {
+        DUE("reminder"), OVERDUE("overdue");
+
+        // Change feed event name
+        private final String event;
+
+        Kind(String event) {
+            this.event = event;
+        }
+    }
+
+    private class Reminder implements Delayed {
+
+        private final Long todoId;
+        private final Long ownerId;
+        private final LocalDate dueDate;
+        private final Kind kind;
+        private final LocalDateTime fireAt;
+
+        Reminder(Long todoId, Long ownerId, LocalDate dueDate, Kind kind, LocalDateTime fireAt) {
+            this.todoId = todoId;
+            this.ownerId = ownerId;
+            this.dueDate = dueDate;
+            this.kind = kind;
+            this.fireAt = fireAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(clock), fireAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return fireAt.compareTo(((Reminder) other).fireAt);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.todo.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+
+// In-memory inverted index over todoItem and notes. Terms are kept in a sorted map so a
+// query token matches every term it prefixes; postings map todo id -> weighted term frequency.
+public class TodoSearchIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // todoItem matches count double compared to notes matches
+    private static final int TITLE_WEIGHT = 2;
+    private static final int NOTES_WEIGHT = 1;
+
+    // A prefix-only match scores half of an exact term match
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(Todo todo) {
+        Document document = new Document(todo);
+        lock.writeLock().lock();
+        try {
+            removeDocument(todo.getId());
+            documents.put(todo.getId(), document);
+            document.termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(todo.getId(), frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of the best matching todos, highest score first. Every query token must match.
+    public List<Long> search(String text, Boolean status, String category, Priority priority, int limit) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Double> intersection = new HashMap<>();
+                    Map<Long, Double> smaller = scores.size() <= tokenScores.size() ? scores : tokenScores;
+                    Map<Long, Double> larger = smaller == scores ? tokenScores : scores;
+                    smaller.forEach((id, score) -> {
+                        Double other = larger.get(id);
+                        if (other != null) {
+                            intersection.put(id, score + other);
+                        }
+                    });
+                    scores = intersection;
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            // Bounded min-heap keeps only the top "limit" matches
+            Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(byScore);
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                if (!documents.get(entry.getKey()).matches(status, category, priority)) {
+                    continue;
+                }
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ids.add(top.poll().getKey());
+            }
+            Collections.reverse(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreToken(String token) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = Math.max(documents.size(), 1);
+        for (Map.Entry<String, Map<Long, Integer>> term : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            Map<Long, Integer> matches = term.getValue();
+            double idf = Math.log(1.0 + (double) documentCount / matches.size());
+            double factor = term.getKey().equals(token) ? 1.0 : PREFIX_FACTOR;
+            matches.forEach((id, frequency) -> scores.merge(id, frequency * idf * factor, Math::max));
+        }
+        return scores;
+    }
+
+    private void removeDocument(Long id) {
+        Document existing = documents.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.termFrequencies.keySet()) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(id);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // What the index remembers about a todo: its terms (to unindex it) and the filter fields
+    private static class Document {
+
+        private final Map<String, Integer> termFrequencies = new HashMap<>();
+        private final boolean status;
+        private final String category;
+        private final Priority priority;
+
+        Document(Todo todo) {
+            for (String token : tokenize(todo.getTodoItem())) {
+                termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+            }
+            for (String token : tokenize(todo.getNotes())) {
+                termFrequencies.merge(token, NOTES_WEIGHT, Integer::sum);
+            }
+            this.status = todo.isCompleted();
+            this.category = todo.getCategory();
+            this.priority = todo.getPriority();
+        }
+
+        boolean matches(Boolean status, String category, Priority priority) {
+            return (status == null || status == this.status)
+                    && (category == null || Objects.equals(category, this.category))
+                    && (priority == null || priority == this.priority);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.todo.service;
+
+import java.util.List;
+
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+
+// Full-text search over one user's todoItem and notes. Filters are optional (null means "any");
+// status is the completed flag.
+// The engine is selected with todo.search.engine=index|database.
+public interface TodoSearchService {
+
+    List<Todo> search(Long ownerId, String text, Boolean status, String category, Priority priority, int limit);
+}
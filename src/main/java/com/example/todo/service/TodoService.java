@@ -0,0 +1,312 @@
+package com.example.todo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.exception.TodoException;
+import com.example.todo.model.Recurrence;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoDto;
+import com.example.todo.model.TodoPage;
+import com.example.todo.repository.TodoCursor;
+import com.example.todo.repository.TodoRepository;
+import com.example.todo.repository.TodoSort;
+import com.example.todo.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class TodoService {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${todo.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${todo.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${todo.bulk.max-size:10000}")
+    private int maxBulkSize;
+
+    // Rows per flush when inserting, and ids per IN list when updating or deleting
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int insertBatchSize;
+
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    // Keyset-paginated listing of one user's todos; a null status lists completed and pending todos
+    @Transactional(readOnly = true)
+    public TodoPage findPage(Long ownerId, Boolean status, String sort, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        TodoCursor after = cursor != null && !cursor.isEmpty() ? TodoCursor.decode(cursor) : null;
+        TodoSort todoSort = after != null ? after.getSort() : TodoSort.fromParameter(sort);
+
+        // Fetch one extra row to learn whether another page exists
+        List<Todo> todos = todoRepository.findPage(ownerId, status, todoSort, after, pageSize + 1);
+        String nextCursor = null;
+        if (todos.size() > pageSize) {
+            todos = todos.subList(0, pageSize);
+            nextCursor = TodoCursor.after(todoSort, todos.get(pageSize - 1)).encode();
+        }
+        return new TodoPage(todos, todoSort.getProperty(), pageSize, nextCursor);
+    }
+
+    // Maps the "Yes"/"No" status parameter used by forms and URLs to the completed flag
+    public Boolean parseStatus(String status) {
+        if (status == null || status.isEmpty() || status.equalsIgnoreCase("all")) {
+            return null;
+        }
+        if (status.equalsIgnoreCase("Yes") || status.equalsIgnoreCase("true")) {
+            return Boolean.TRUE;
+        }
+        if (status.equalsIgnoreCase("No") || status.equalsIgnoreCase("false")) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Unknown status: " + status);
+    }
+
+    public int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public Todo getTodo(Long ownerId, long id) {
+        return todoRepository.findByIdAndOwner_Id(id, ownerId)
+                .orElseThrow(() -> new TodoException("Todo not found"));
+    }
+
+    @Transactional
+    public Todo createTodo(Long ownerId, Todo todo) {
+        checkTodoItem(todo);
+        checkRecurrence(todo);
+        todo.setOwner(userRepository.getReferenceById(ownerId));
+        Todo saved = todoRepository.save(todo);
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Type.CREATED, null, saved));
+        return saved;
+    }
+
+    // Returns false when the user has no such todo
+    @Transactional
+    public boolean deleteTodo(Long ownerId, long id) {
+        return todoRepository.findByIdAndOwner_Id(id, ownerId).map(todo -> {
+            todoRepository.delete(todo);
+            eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Type.DELETED, todo, null));
+            return true;
+        }).orElse(false);
+    }
+
+    // Toggles against the version the caller saw, when given. The UPDATE itself only sets
+    // completed, updatedAt and version, and fails with a conflict if another request got there first.
+    @Transactional
+    public Todo toggleCompleted(Long ownerId, long id, Long expectedVersion) {
+        Todo todo = todoRepository.findByIdAndOwner_Id(id, ownerId)
+                .orElseThrow(() -> new TodoException("Todo not found"));
+        checkVersion(todo, expectedVersion);
+        Todo before = new Todo(todo);
+
+        todo.setCompleted(!todo.isCompleted());
+        continueSeries(before, todo);
+        // Flush now so the returned todo carries the new version for the caller's next edit
+        Todo saved = todoRepository.saveAndFlush(todo);
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Type.UPDATED, before, saved));
+        return saved;
+    }
+
+    // Partial update: only the fields present in the request change, and only those are written
+    @Transactional
+    public Todo updateTodo(Long ownerId, long id, TodoDto changes) {
+        Todo todo = todoRepository.findByIdAndOwner_Id(id, ownerId)
+                .orElseThrow(() -> new TodoException("Todo not found"));
+        if (changes.getTodoItem() != null && changes.getTodoItem().isBlank()) {
+            throw new IllegalArgumentException("Todo item is required");
+        }
+        checkVersion(todo, changes.getVersion());
+        Todo before = new Todo(todo);
+
+        changes.applyTo(todo);
+        checkRecurrence(todo);
+        continueSeries(before, todo);
+        Todo saved = todoRepository.saveAndFlush(todo);
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Type.UPDATED, before, saved));
+        return saved;
+    }
+
+    private void checkTodoItem(Todo todo) {
+        if (todo.getTodoItem() == null || todo.getTodoItem().isBlank()) {
+            throw new IllegalArgumentException("Todo item is required");
+        }
+    }
+
+    // Normalizes the repeat rule; a recurring todo needs a due date to count from
+    private void checkRecurrence(Todo todo) {
+        if (todo.getRecurrence() == null) {
+            return;
+        }
+        if (todo.getDueDate() == null) {
+            throw new IllegalArgumentException("A recurring todo needs a due date");
+        }
+        String rule = Recurrence.parse(todo.getRecurrence()).toString();
+        if (!rule.equals(todo.getRecurrence())) {
+            todo.setRecurrence(rule);
+        }
+    }
+
+    // Completing a recurring todo creates its next occurrence, which carries the rule on; the
+    // completed one drops it, so reopening and completing it again does not repeat the series
+    private void continueSeries(Todo before, Todo todo) {
+        if (!before.isCompleted() && todo.isCompleted() && todo.getRecurrence() != null) {
+            startNextOccurrence(todo);
+        }
+    }
+
+    private void startNextOccurrence(Todo todo) {
+        Recurrence recurrence = Recurrence.parse(todo.getRecurrence());
+        Todo next = new Todo(todo.getTodoItem(), false, todo.getPriority(), todo.getCategory(),
+                recurrence.nextFrom(todo.getDueDate(), LocalDate.now()), todo.getNotes());
+        next.setRecurrence(todo.getRecurrence());
+        next.setOwner(todo.getOwner());
+        todo.setRecurrence(null);
+        Todo saved = todoRepository.save(next);
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Type.CREATED, null, saved));
+    }
+
+    // A stale version means the caller acted on an outdated copy; reported like a failed @Version check
+    private void checkVersion(Todo todo, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != todo.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Todo.class, todo.getId());
+        }
+    }
+
+    // Bulk insert: sequence ids let Hibernate send each flush as one JDBC batch; the persistence
+    // context is cleared after every flush so a large import does not accumulate managed entities
+    @Transactional
+    public List<Long> createTodos(Long ownerId, List<Todo> todos) {
+        checkBulkSize(todos.size());
+        // Validated up front, like createTodo, so a bad item rejects the whole request
+        for (int i = 0; i < todos.size(); i++) {
+            try {
+                checkTodoItem(todos.get(i));
+                checkRecurrence(todos.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(e.getMessage() + " (todo " + (i + 1) + ")", e);
+            }
+        }
+        List<Long> ids = new ArrayList<>(todos.size());
+        for (int i = 0; i < todos.size(); i++) {
+            Todo todo = todos.get(i);
+            todo.setId(null);
+            todo.setVersion(0);
+            todo.setOwner(userRepository.getReferenceById(ownerId));
+            ids.add(todoRepository.save(todo).getId());
+            if ((i + 1) % insertBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        eventPublisher.publishEvent(new TodosBulkChangedEvent(TodoChangedEvent.Type.CREATED, ownerId, ids));
+        return ids;
+    }
+
+    @Transactional
+    public int setCompleted(Long ownerId, List<Long> ids, String category, boolean completed) {
+        List<Long> selected = select(ownerId, ids, category);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (List<Long> chunk : chunks(selected)) {
+            if (completed) {
+                todoRepository.findPendingRecurring(ownerId, chunk).forEach(this::startNextOccurrence);
+            }
+            updated += todoRepository.updateCompleted(ownerId, chunk, completed, now);
+        }
+        eventPublisher.publishEvent(new TodosBulkChangedEvent(TodoChangedEvent.Type.UPDATED, ownerId, selected,
+                Map.of("completed", completed)));
+        return updated;
+    }
+
+    @Transactional
+    public int recategorize(Long ownerId, List<Long> ids, String category, String newCategory) {
+        if (newCategory == null || newCategory.isBlank()) {
+            throw new IllegalArgumentException("New category is required");
+        }
+        List<Long> selected = select(ownerId, ids, category);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (List<Long> chunk : chunks(selected)) {
+            updated += todoRepository.updateCategory(ownerId, chunk, newCategory, now);
+        }
+        eventPublisher.publishEvent(new TodosBulkChangedEvent(TodoChangedEvent.Type.UPDATED, ownerId, selected,
+                Map.of("category", newCategory)));
+        return updated;
+    }
+
+    @Transactional
+    public int deleteTodos(Long ownerId, List<Long> ids, String category) {
+        List<Long> selected = select(ownerId, ids, category);
+        int deleted = 0;
+        for (List<Long> chunk : chunks(selected)) {
+            deleted += todoRepository.deleteOwned(ownerId, chunk);
+        }
+        eventPublisher.publishEvent(new TodosBulkChangedEvent(TodoChangedEvent.Type.DELETED, ownerId, selected));
+        return deleted;
+    }
+
+    // Bulk selection: explicit ids (filtered to the caller's own todos) or a whole category
+    private List<Long> select(Long ownerId, List<Long> ids, String category) {
+        if (ids != null && !ids.isEmpty()) {
+            if (category != null) {
+                throw new IllegalArgumentException("Select todos by ids or by category, not both");
+            }
+            checkBulkSize(ids.size());
+            List<Long> owned = new ArrayList<>(ids.size());
+            for (List<Long> chunk : chunks(ids)) {
+                owned.addAll(todoRepository.findOwnedIds(ownerId, chunk));
+            }
+            return owned;
+        }
+        if (category != null && !category.isEmpty()) {
+            return todoRepository.findIdsByCategory(ownerId, category);
+        }
+        throw new IllegalArgumentException("Select todos by ids or by category");
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > maxBulkSize) {
+            throw new IllegalArgumentException("At most " + maxBulkSize + " todos per bulk request");
+        }
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.todo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+import com.example.todo.repository.TodoRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Dashboard statistics per user: counts by category, priority and status, pending todos due
+// this week, and created/completed counts per day. Like the notification summary, each user's
+// aggregates are seeded once per day from grouped count queries and then kept current from
+// TodoChangedEvents (subtract the before image, add the after image), so serving the dashboard
+// never aggregates todo rows.
+@Service
+public class TodoStatsService {
+
+    private static final String NO_CATEGORY = "None";
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${todo.stats.trend-days:14}")
+    private int trendDays;
+
+    private final Map<Long, Stats> stats = new ConcurrentHashMap<>();
+
+    public Map<String, Object> getStats(Long ownerId) {
+        return stats.computeIfAbsent(ownerId, Stats::new).getSnapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Todo todo = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        Stats userStats = stats.get(todo.getOwnerId());
+        if (userStats != null) {
+            userStats.apply(event.getBefore(), event.getAfter());
+        }
+    }
+
+    // Bulk changes carry no before/after images; reseed that user's aggregates on the next read
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        stats.remove(event.getOwnerId());
+    }
+
+    // Seeds run in read-write transactions, which ReplicaRoutingDataSource sends to the primary:
+    // the aggregates are only corrected by change events after this, so a seed read from a
+    // lagging replica would stay wrong until the next reseed.
+    private TransactionTemplate seedTransaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private class Stats {
+
+        private final Long ownerId;
+
+        // Guards the mutable state; the seed runs queries, so no synchronized (virtual threads)
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // Mutable state, guarded by "lock". Date-bucketed counts only cover the current
+        // windows (this week's due dates, the last trendDays days); older dates are ignored.
+        private LocalDate asOf;
+        private LocalDate weekStart;
+        private LocalDate trendStart;
+        private final Map<String, Long> byCategory = new HashMap<>();
+        private final Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        private long completed;
+        private long pending;
+        private final Map<LocalDate, Long> pendingByDueDate = new HashMap<>();
+        private final Map<LocalDate, Long> createdByDay = new HashMap<>();
+        private final Map<LocalDate, Long> completedByDay = new HashMap<>();
+
+        private volatile Map<String, Object> snapshot;
+
+        Stats(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        Map<String, Object> getSnapshot() {
+            Map<String, Object> current = snapshot;
+            if (current == null || !LocalDate.now().equals(current.get("asOf"))) {
+                lock.lock();
+                try {
+                    if (snapshot == null || !LocalDate.now().equals(asOf)) {
+                        reload();
+                    }
+                    current = snapshot;
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return current;
+        }
+
+        void apply(Todo before, Todo after) {
+            lock.lock();
+            try {
+                if (snapshot == null) {
+                    return;
+                }
+                if (before != null) {
+                    count(before, -1);
+                }
+                if (after != null) {
+                    count(after, 1);
+                }
+                publishSnapshot();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void count(Todo todo, long delta) {
+            add(byCategory, todo.getCategory() != null ? todo.getCategory() : NO_CATEGORY, delta);
+            if (todo.getPriority() != null) {
+                add(byPriority, todo.getPriority(), delta);
+            }
+            if (todo.isCompleted()) {
+                completed += delta;
+                addInWindow(completedByDay, todo.getCompletedAt() != null ? todo.getCompletedAt().toLocalDate() : null,
+                        trendStart, asOf, delta);
+            } else {
+                pending += delta;
+                addInWindow(pendingByDueDate, todo.getDueDate(), weekStart, weekStart.plusDays(6), delta);
+            }
+            addInWindow(createdByDay, todo.getCreatedAt() != null ? todo.getCreatedAt().toLocalDate() : null,
+                    trendStart, asOf, delta);
+        }
+
+        private void reload() {
+            asOf = LocalDate.now();
+            weekStart = asOf.with(DayOfWeek.MONDAY);
+            trendStart = asOf.minusDays(trendDays - 1L);
+            byCategory.clear();
+            byPriority.clear();
+            completed = 0;
+            pending = 0;
+            pendingByDueDate.clear();
+            createdByDay.clear();
+            completedByDay.clear();
+
+            seedTransaction().executeWithoutResult(status -> {
+                for (TodoRepository.BreakdownCount row : todoRepository.countBreakdown(ownerId)) {
+                    add(byCategory, row.getCategory() != null ? row.getCategory() : NO_CATEGORY, row.getTotal());
+                    if (row.getPriority() != null) {
+                        add(byPriority, row.getPriority(), row.getTotal());
+                    }
+                    if (row.isCompleted()) {
+                        completed += row.getTotal();
+                    } else {
+                        pending += row.getTotal();
+                    }
+                }
+                todoRepository.countPendingByDueDate(ownerId, weekStart, weekStart.plusDays(6))
+                        .forEach(row -> pendingByDueDate.put(row.getDay(), row.getTotal()));
+                todoRepository.countCreatedByDay(ownerId, trendStart.atStartOfDay())
+                        .forEach(row -> createdByDay.put(row.getDay(), row.getTotal()));
+                todoRepository.countCompletedByDay(ownerId, trendStart.atStartOfDay())
+                        .forEach(row -> completedByDay.put(row.getDay(), row.getTotal()));
+            });
+            publishSnapshot();
+        }
+
+        private void publishSnapshot() {
+            Map<String, Object> priorities = new LinkedHashMap<>();
+            for (Priority priority : Priority.values()) {
+                priorities.put(priority.getLabel(), byPriority.getOrDefault(priority, 0L));
+            }
+            Map<String, Long> categories = new TreeMap<>();
+            byCategory.forEach((category, count) -> {
+                if (count > 0) {
+                    categories.put(category, count);
+                }
+            });
+            List<Map<String, Object>> trend = new ArrayList<>(trendDays);
+            for (LocalDate day = trendStart; !day.isAfter(asOf); day = day.plusDays(1)) {
+                Map<String, Object> point = new LinkedHashMap<>();
+                point.put("date", day);
+                point.put("created", createdByDay.getOrDefault(day, 0L));
+                point.put("completed", completedByDay.getOrDefault(day, 0L));
+                trend.add(point);
+            }
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("asOf", asOf);
+            data.put("total", completed + pending);
+            data.put("completed", completed);
+            data.put("pending", pending);
+            data.put("byCategory", Collections.unmodifiableMap(categories));
+            data.put("byPriority", Collections.unmodifiableMap(priorities));
+            data.put("dueThisWeek", pendingByDueDate.values().stream().mapToLong(Long::longValue).sum());
+            data.put("trend", Collections.unmodifiableList(trend));
+            snapshot = Collections.unmodifiableMap(data);
+        }
+
+        private <K> void add(Map<K, Long> counts, K key, long delta) {
+            counts.merge(key, delta, Long::sum);
+        }
+
+        private void addInWindow(Map<LocalDate, Long> counts, LocalDate day, LocalDate from, LocalDate to, long delta) {
+            if (day != null && !day.isBefore(from) && !day.isAfter(to)) {
+                add(counts, day, delta);
+            }
+        }
+    }
+}
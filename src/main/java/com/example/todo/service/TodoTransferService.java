@@ -0,0 +1,151 @@
+package com.example.todo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.todo.model.ArchivedTodo;
+import com.example.todo.model.Todo;
+import com.example.todo.repository.ArchivedTodoRepository;
+import com.example.todo.repository.TodoRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Export and import of a user's todos as CSV or NDJSON (one JSON object per line). Both
+// directions stream: export writes each row as it comes off the cursor, import parses one
+// record at a time and inserts in batches, so memory use does not depend on the file size.
+@Service
+public class TodoTransferService {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromParameter(String value) {
+            if (value == null || value.isEmpty()) {
+                return CSV;
+            }
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown format: " + value);
+        }
+    }
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${todo.transfer.import-batch-size:1000}")
+    private int importBatchSize;
+
+    // Archived todos (see TodoArchiveService) follow the live ones when includeArchived is set
+    @Transactional(readOnly = true)
+    public long export(Long ownerId, Format format, Writer out, boolean includeArchived) throws IOException {
+        long count = 0;
+        SequenceWriter json = format == Format.NDJSON
+                ? objectMapper.writer().withRootValueSeparator("\n").writeValues(out)
+                : null;
+        if (format == Format.CSV) {
+            TodoCsv.writeHeader(out);
+        }
+        try (Stream<Todo> todos = todoRepository.streamByOwner(ownerId)) {
+            for (Todo todo : (Iterable<Todo>) todos::iterator) {
+                if (json != null) {
+                    json.write(todo);
+                } else {
+                    TodoCsv.write(todo, out);
+                }
+                // Written rows are not needed again; keep the persistence context empty
+                entityManager.detach(todo);
+                count++;
+            }
+        }
+        if (includeArchived) {
+            try (Stream<ArchivedTodo> archived = archivedTodoRepository.streamByOwner(ownerId)) {
+                for (ArchivedTodo todo : (Iterable<ArchivedTodo>) archived::iterator) {
+                    if (json != null) {
+                        json.write(todo);
+                    } else {
+                        TodoCsv.write(todo.toTodo(), out);
+                    }
+                    entityManager.detach(todo);
+                    count++;
+                }
+            }
+        }
+        if (json != null) {
+            json.flush();
+            if (count > 0) {
+                out.write('\n');
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    // Each batch commits on its own (through TodoService.createTodos); a malformed record stops
+    // the import and the error reports how many todos were already imported
+    public long importTodos(Long ownerId, Format format, Reader in) throws IOException {
+        List<Todo> batch = new ArrayList<>(importBatchSize);
+        long count = 0;
+        try {
+            if (format == Format.NDJSON) {
+                try (MappingIterator<Todo> todos = objectMapper.readerFor(Todo.class).readValues(in)) {
+                    while (todos.hasNextValue()) {
+                        batch.add(todos.nextValue());
+                        count += flushIfFull(ownerId, batch);
+                    }
+                }
+            } else {
+                TodoCsv csv = new TodoCsv(in);
+                Todo todo;
+                while ((todo = csv.next()) != null) {
+                    batch.add(todo);
+                    count += flushIfFull(ownerId, batch);
+                }
+            }
+            if (!batch.isEmpty()) {
+                todoService.createTodos(ownerId, batch);
+                count += batch.size();
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException(e.getMessage() + " (" + count + " todos imported before the error)", e);
+        }
+        return count;
+    }
+
+    private int flushIfFull(Long ownerId, List<Todo> batch) {
+        if (batch.size() < importBatchSize) {
+            return 0;
+        }
+        int size = batch.size();
+        todoService.createTodos(ownerId, batch);
+        batch.clear();
+        return size;
+    }
+}
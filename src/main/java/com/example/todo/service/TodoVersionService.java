@@ -0,0 +1,122 @@
+package com.example.todo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoVersion;
+import com.example.todo.repository.TodoRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Per-user high-water mark of todo changes, used for ETag/Last-Modified on the todo listings.
+// The first request of a user seeds it from max(updatedAt) and the row count; after that it is
+// advanced in memory by the change events, so conditional requests never touch the todo table.
+@Service
+public class TodoVersionService {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, Tracker> trackers = new ConcurrentHashMap<>();
+
+    public TodoVersion getVersion(Long ownerId) {
+        return trackers.computeIfAbsent(ownerId, Tracker::new).get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Todo todo = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (todo.getOwnerId() != null) {
+            advance(todo.getOwnerId(), countDelta(event.getType(), 1));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        advance(event.getOwnerId(), countDelta(event.getType(), event.getIds().size()));
+    }
+
+    // Not tracked yet: the first read seeds the version from the committed rows
+    private void advance(Long ownerId, long countDelta) {
+        Tracker tracker = trackers.get(ownerId);
+        if (tracker != null) {
+            tracker.advance(countDelta);
+        }
+    }
+
+    private long countDelta(TodoChangedEvent.Type type, int rows) {
+        return switch (type) {
+            case CREATED -> rows;
+            case DELETED -> -rows;
+            case UPDATED -> 0;
+        };
+    }
+
+    private class Tracker {
+
+        private final Long ownerId;
+
+        // Held while seeding, so a change committed during the seed queries waits and then
+        // advances the seeded version. A lock rather than synchronized (or a loading
+        // computeIfAbsent), which would pin the carrier thread during the queries.
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile TodoVersion version;
+
+        Tracker(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        TodoVersion get() {
+            TodoVersion current = version;
+            if (current == null) {
+                lock.lock();
+                try {
+                    if (version == null) {
+                        version = load();
+                    }
+                    current = version;
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return current;
+        }
+
+        void advance(long countDelta) {
+            lock.lock();
+            try {
+                if (version != null) {
+                    version = version.next(countDelta);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // A read-write transaction, so the seed reads the primary rather than a lagging replica
+        // (see TodoStatsService.seedTransaction)
+        private TodoVersion load() {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                LocalDateTime lastUpdated = todoRepository.findLastUpdatedAt(ownerId);
+                long lastModified = lastUpdated != null
+                        ? lastUpdated.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : 0L;
+                return new TodoVersion(ownerId, lastModified, todoRepository.countByOwner_Id(ownerId));
+            });
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.todo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token buckets keyed by client (IP, username, e-mail), one limiter per policy. A bucket holds
+// up to capacity tokens and refills evenly over the period. Each bucket is a single AtomicLong:
+// the nanoTime at which it will be full again. Taking a token pushes that moment one refill
+// interval later, with one compareAndSet and no lock. The buckets live in a bounded Caffeine map:
+// one idle for a whole period is full again, indistinguishable from a new one, and expires; past
+// max-keys the least valuable buckets are evicted. New clients are never refused for lack of
+// room. Under a flood of distinct keys the per-key limits weaken, and the per-IP rules in front
+// of them still hold.
+public class TokenBucketRateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final long interval;
+    private final long burst;
+    private final LongSupplier clock;
+    private final Counter rejected;
+
+    public TokenBucketRateLimiter(String name, Policy policy, int maxKeys, MeterRegistry meterRegistry) {
+        this(name, policy, maxKeys, meterRegistry, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(String name, Policy policy, int maxKeys, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.interval = policy.period.toNanos() / policy.capacity;
+        this.burst = interval * policy.capacity;
+        this.clock = clock;
+        // Maintenance runs on the calling thread, in small amortized steps
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burst))
+                .ticker(clock::getAsLong)
+                .executor(Runnable::run)
+                .build();
+        this.rejected = Counter.builder("todo.rate-limit.rejected").tag("policy", name).register(meterRegistry);
+        Gauge.builder("todo.rate-limit.keys", buckets, Cache::estimatedSize).tag("policy", name).register(meterRegistry);
+    }
+
+    // Takes a token from the key's bucket: 0 when granted, otherwise the nanoseconds until the
+    // next token is available
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + interval;
+            if (next - now > burst) {
+                rejected.increment();
+                return next - now - burst;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    long getKeyCount() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    // "capacity/period", e.g. "5/PT1M": bursts of up to 5 requests, refilled over a minute
+    public static final class Policy {
+
+        private final int capacity;
+        private final Duration period;
+
+        private Policy(int capacity, Duration period) {
+            this.capacity = capacity;
+            this.period = period;
+        }
+
+        public static Policy parse(String value) {
+            int slash = value == null ? -1 : value.indexOf('/');
+            try {
+                if (slash > 0) {
+                    Policy policy = new Policy(Integer.parseInt(value.substring(0, slash).trim()),
+                            Duration.parse(value.substring(slash + 1).trim()));
+                    if (policy.capacity > 0 && policy.period.toNanos() >= policy.capacity) {
+                        return policy;
+                    }
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                // reported below
+            }
+            throw new IllegalArgumentException("Invalid rate limit policy: " + value);
+        }
+
+        @Override
+        public String toString() {
+            return capacity + "/" + period;
+        }
+    }
+}
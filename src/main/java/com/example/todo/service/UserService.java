@@ -1,11 +1,14 @@
 package com.example.todo.service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.example.todo.model.User;
 import com.example.todo.repository.UserRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -21,19 +24,31 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
     
-    public User findByEmail(String email) {
-        return userRepository.findByEmail(email).orElse(null);
+    // Id of the logged-in user, used to scope every todo query to its owner
+    public Long getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            throw new RuntimeException("Not authenticated");
+        }
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getId();
+        }
+        return userRepository.findByUsername(auth.getName())
+            .map(User::getId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
     }
     
-    public User findByResetToken(String token) {
-        return userRepository.findByResetToken(token).orElse(null);
+    public User findByEmail(String email) {
+        return userRepository.findByEmail(email).orElse(null);
     }
     
     public User registerUser(User user) {
-        if (userRepository.existsByUsername(user.getUsername())) {
+        // One round trip for both uniqueness checks
+        List<User> existing = userRepository.findByUsernameOrEmail(user.getUsername(), user.getEmail());
+        if (existing.stream().anyMatch(other -> other.getUsername().equals(user.getUsername()))) {
             throw new RuntimeException("Username already exists");
         }
-        if (userRepository.existsByEmail(user.getEmail())) {
+        if (!existing.isEmpty()) {
             throw new RuntimeException("Email already exists");
         }
         
@@ -53,6 +68,12 @@ public class UserService {
             throw new RuntimeException("Invalid password");
         }
         
+        // Stored with a different BCrypt strength than configured: re-hash while we have the raw password
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(password));
+            user = userRepository.save(user);
+        }
+        
         return user;
     }
     
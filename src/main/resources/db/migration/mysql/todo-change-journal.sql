@@ -0,0 +1,14 @@
+-- todo_change: append-only change journal (TodoJournalService). ids come from a pooled sequence
+-- (allocationSize 50), which MySQL emulates with a table.
+CREATE TABLE todo_change (
+    id BIGINT NOT NULL PRIMARY KEY,
+    owner_id BIGINT NOT NULL,
+    todo_id BIGINT NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    changes LONGTEXT NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    INDEX idx_todo_change_owner (owner_id, id),
+    INDEX idx_todo_change_todo (todo_id, id)
+);
+CREATE TABLE todo_change_seq (next_val BIGINT);
+INSERT INTO todo_change_seq (next_val) VALUES (1);
@@ -0,0 +1,4 @@
+-- todo.completed_at: when the todo was completed (dashboard completion trend). Existing completed
+-- todos take their last update, the closest record of it.
+ALTER TABLE todo ADD COLUMN completed_at DATETIME(6) NULL;
+UPDATE todo SET completed_at = updated_at WHERE completed = 1;
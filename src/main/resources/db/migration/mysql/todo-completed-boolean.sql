@@ -0,0 +1,5 @@
+-- todo.completed: VARCHAR 'Yes'/'No' -> BIT(1).
+-- MySQL cannot cast a character column straight to BIT, so go through TINYINT.
+UPDATE todo SET completed = CASE WHEN completed = 'Yes' THEN '1' ELSE '0' END;
+ALTER TABLE todo MODIFY completed TINYINT NOT NULL;
+ALTER TABLE todo MODIFY completed BIT(1) NOT NULL;
@@ -0,0 +1,4 @@
+-- todo ids now come from a pooled sequence (allocationSize 50), which MySQL emulates with a table.
+-- Start past the highest AUTO_INCREMENT id, leaving a full allocation block of headroom.
+CREATE TABLE todo_seq (next_val BIGINT);
+INSERT INTO todo_seq (next_val) SELECT COALESCE(MAX(id), 0) + 100 FROM todo;
@@ -0,0 +1,3 @@
+-- todo.priority: VARCHAR 'High'/'Medium'/'Low' -> TINYINT ordinal of com.example.todo.model.Priority.
+UPDATE todo SET priority = CASE priority WHEN 'High' THEN '0' WHEN 'Medium' THEN '1' WHEN 'Low' THEN '2' ELSE NULL END;
+ALTER TABLE todo MODIFY priority TINYINT NULL;
@@ -0,0 +1,2 @@
+-- todo.version: optimistic lock column (@Version). Existing rows start at 0.
+ALTER TABLE todo ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
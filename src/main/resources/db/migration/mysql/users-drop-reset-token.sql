@@ -0,0 +1,3 @@
+-- Reset tokens moved to password_reset_token (hashed, indexed, swept on expiry).
+-- Outstanding plain-text tokens are dropped with the columns; users simply request a new one.
+ALTER TABLE users DROP COLUMN reset_token, DROP COLUMN reset_token_expiry;
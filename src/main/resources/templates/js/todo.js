@@ -1,14 +1,12 @@
 // Sample data for demonstration
 let todos = [
-    { id: 1, todoItem: "Complete project proposal", priority: "High", category: "Work", dueDate: "2023-12-15", completed: "No", notes: "Send to manager for review" },
-    { id: 2, todoItem: "Buy groceries", priority: "Medium", category: "Shopping", dueDate: "2023-12-10", completed: "No", notes: "Milk, eggs, bread, fruits" },
-    { id: 3, todoItem: "Schedule doctor appointment", priority: "Medium", category: "Health", dueDate: "2023-12-05", completed: "Yes", notes: "Annual checkup" },
-    { id: 4, todoItem: "Call mom", priority: "Low", category: "Personal", dueDate: "2023-12-20", completed: "No", notes: "Ask about Christmas plans" },
-    { id: 5, todoItem: "Finish reading book", priority: "Low", category: "Personal", dueDate: "2023-12-25", completed: "No", notes: "Only 3 chapters left" }
+    { id: 1, todoItem: "Complete project proposal", priority: "High", category: "Work", dueDate: "2023-12-15", completed: false, notes: "Send to manager for review" },
+    { id: 2, todoItem: "Buy groceries", priority: "Medium", category: "Shopping", dueDate: "2023-12-10", completed: false, notes: "Milk, eggs, bread, fruits" },
+    { id: 3, todoItem: "Schedule doctor appointment", priority: "Medium", category: "Health", dueDate: "2023-12-05", completed: true, notes: "Annual checkup" },
+    { id: 4, todoItem: "Call mom", priority: "Low", category: "Personal", dueDate: "2023-12-20", completed: false, notes: "Ask about Christmas plans" },
+    { id: 5, todoItem: "Finish reading book", priority: "Low", category: "Personal", dueDate: "2023-12-25", completed: false, notes: "Only 3 chapters left" }
 ];
 
-let nextId = 6;
-
 // Initialize date pickers
 document.addEventListener('DOMContentLoaded', function() {
     // Due date in add modal
@@ -39,6 +37,34 @@ document.addEventListener('DOMContentLoaded', function() {
     initNotifications();
 });
 
+// Calls the JSON API (/api/todos); adds the CSRF header Spring Security expects on writes
+function apiRequest(method, url, body) {
+    const headers = { 'Accept': 'application/json' };
+    const csrfToken = document.querySelector('meta[name="_csrf"]');
+    const csrfHeader = document.querySelector('meta[name="_csrf_header"]');
+    if (csrfToken && csrfHeader) {
+        headers[csrfHeader.content] = csrfToken.content;
+    }
+    if (body !== undefined) {
+        headers['Content-Type'] = 'application/json';
+    }
+    return fetch(url, {
+        method,
+        headers,
+        credentials: 'same-origin',
+        body: body !== undefined ? JSON.stringify(body) : undefined
+    }).then(response => {
+        if (!response.ok) {
+            return response.text().then(text => {
+                const error = new Error(text || response.statusText);
+                error.status = response.status;
+                throw error;
+            });
+        }
+        return response.status === 204 ? null : response.json();
+    });
+}
+
 // Render todos to the table
 function renderTodos() {
     const tbody = document.getElementById('todoTableBody');
@@ -50,59 +76,7 @@ function renderTodos() {
         return;
     }
     
-    todos.forEach(todo => {
-        const row = document.createElement('tr');
-        const dueDate = todo.dueDate ? new Date(todo.dueDate) : null;
-        const today = new Date();
-        today.setHours(0, 0, 0, 0);
-        
-        const isOverdue = dueDate && dueDate < today && todo.completed === 'No';
-        
-        row.setAttribute('data-todo-item', todo.todoItem);
-        row.setAttribute('data-status', todo.completed);
-        row.setAttribute('data-priority', todo.priority);
-        row.setAttribute('data-category', todo.category);
-        row.setAttribute('data-due-date', todo.dueDate);
-        row.setAttribute('data-notes', todo.notes);
-        
-        if (todo.completed === 'Yes') {
-            row.classList.add('table-success');
-        }
-        
-        let dueDateText = '';
-        if (dueDate) {
-            dueDateText = dueDate.toLocaleDateString('en-US', { month: 'short', day: 'numeric', year: 'numeric' });
-        }
-        
-        row.innerHTML = `
-            <th scope="row">${todo.id}</th>
-            <td class="todo-item">${todo.todoItem} ${todo.notes ? '<span class="notes-popover" data-toggle="popover" data-content="' + todo.notes + '" title="Notes">📝</span>' : ''}</td>
-            <td>
-                <span class="badge ${todo.priority === 'High' ? 'badge-danger' : todo.priority === 'Medium' ? 'badge-warning' : 'badge-success'}">${todo.priority}</span>
-            </td>
-            <td>
-                ${todo.category ? `<span class="badge badge-info category-badge">${todo.category}</span>` : ''}
-            </td>
-            <td>
-                ${dueDate ? `<span class="due-date ${isOverdue ? 'overdue' : ''}">${dueDateText}</span>` : ''}
-            </td>
-            <td>
-                <span class="badge ${todo.completed === 'Yes' ? 'badge-success' : 'badge-warning'}">${todo.completed === 'Yes' ? 'Completed' : 'Pending'}</span>
-            </td>
-            <td class="no-print action-buttons">
-                <div class="btn-group" role="group">
-                    <button type="button" class="btn btn-outline-primary btn-sm" onclick="toggleTodoStatus(${todo.id})">
-                        ${todo.completed === 'No' ? 'Mark Complete' : 'Mark Incomplete'}
-                    </button>
-                    <button type="button" class="btn btn-outline-danger btn-sm" onclick="deleteTodo(${todo.id})">
-                        Delete
-                    </button>
-                </div>
-            </td>
-        `;
-        
-        tbody.appendChild(row);
-    });
+    todos.forEach(todo => tbody.appendChild(renderRow(todo)));
     
     document.getElementById('todoCount').textContent = todos.length + ' items';
     
@@ -111,6 +85,73 @@ function renderTodos() {
     checkForOverdueTodos();
 }
 
+// Build the table row of one todo
+function renderRow(todo) {
+    const row = document.createElement('tr');
+    const dueDate = todo.dueDate ? new Date(todo.dueDate) : null;
+    const today = new Date();
+    today.setHours(0, 0, 0, 0);
+    
+    const isOverdue = dueDate && dueDate < today && !todo.completed;
+    
+    row.setAttribute('data-id', todo.id);
+    row.setAttribute('data-todo-item', todo.todoItem);
+    row.setAttribute('data-status', todo.completed ? 'Yes' : 'No');
+    row.setAttribute('data-priority', todo.priority);
+    row.setAttribute('data-category', todo.category);
+    row.setAttribute('data-due-date', todo.dueDate);
+    row.setAttribute('data-notes', todo.notes);
+    
+    if (todo.completed) {
+        row.classList.add('table-success');
+    }
+    
+    let dueDateText = '';
+    if (dueDate) {
+        dueDateText = dueDate.toLocaleDateString('en-US', { month: 'short', day: 'numeric', year: 'numeric' });
+    }
+    
+    row.innerHTML = `
+        <th scope="row">${todo.id}</th>
+        <td class="todo-item">${todo.todoItem} ${todo.notes ? '<span class="notes-popover" data-toggle="popover" data-content="' + todo.notes + '" title="Notes">📝</span>' : ''}</td>
+        <td>
+            <span class="badge ${todo.priority === 'High' ? 'badge-danger' : todo.priority === 'Medium' ? 'badge-warning' : 'badge-success'}">${todo.priority}</span>
+        </td>
+        <td>
+            ${todo.category ? `<span class="badge badge-info category-badge">${todo.category}</span>` : ''}
+            ${todo.recurrence ? `<span class="badge badge-light" title="Repeats: ${todo.recurrence}">🔁</span>` : ''}
+        </td>
+        <td>
+            ${dueDate ? `<span class="due-date ${isOverdue ? 'overdue' : ''}">${dueDateText}</span>` : ''}
+        </td>
+        <td>
+            <span class="badge ${todo.completed ? 'badge-success' : 'badge-warning'}">${todo.completed ? 'Completed' : 'Pending'}</span>
+        </td>
+        <td class="no-print action-buttons">
+            <div class="btn-group" role="group">
+                <button type="button" class="btn btn-outline-primary btn-sm" onclick="toggleTodoStatus(${todo.id})">
+                    ${!todo.completed ? 'Mark Complete' : 'Mark Incomplete'}
+                </button>
+                <button type="button" class="btn btn-outline-danger btn-sm" onclick="deleteTodo(${todo.id})">
+                    Delete
+                </button>
+            </div>
+        </td>
+    `;
+    
+    return row;
+}
+
+// Swap one todo's row in place instead of re-rendering the table
+function replaceRow(todo) {
+    todos = todos.map(t => t.id === todo.id ? todo : t);
+    const row = document.querySelector(`#todoTableBody tr[data-id="${todo.id}"]`);
+    if (row) {
+        row.replaceWith(renderRow(todo));
+    }
+    filterTodos();
+}
+
 // Add a new todo
 function addNewTodo() {
     const todoItem = document.getElementById('todoItem').value;
@@ -118,54 +159,82 @@ function addNewTodo() {
     const category = document.getElementById('category').value;
     const dueDate = document.getElementById('dueDate').value;
     const notes = document.getElementById('notes').value;
+    const recurrence = document.getElementById('recurrence').value;
     const status = document.getElementById('status').value;
     
     if (!todoItem) {
-        showCustomNotification('error', 'Validation Error', 'Todo item is required!');
+        showCustomNotification('error', 'Error', 'Todo item is required!');
         return;
     }
     
-    const newTodo = {
-        id: nextId++,
+    apiRequest('POST', '/api/todos', {
         todoItem,
         priority,
         category,
-        dueDate,
-        completed: status,
-        notes
-    };
-    
-    todos.push(newTodo);
-    renderTodos();
-    
-    // Show success message
-    showCustomNotification('success', 'Success', 'Todo added successfully!');
-    
-    // Close modal
-    $('#addTodoModal').modal('hide');
-    
-    // Reset form
-    document.getElementById('addTodoForm').reset();
+        dueDate: dueDate || null,
+        completed: status === 'Yes',
+        notes: notes || null,
+        recurrence: recurrence || null
+    }).then(saved => {
+        // The change feed may have delivered this todo already
+        if (todos.some(t => t.id === saved.id)) {
+            replaceRow(saved);
+        } else {
+            if (todos.length === 0) {
+                document.getElementById('todoTableBody').innerHTML = '';
+            }
+            todos.push(saved);
+            document.getElementById('todoTableBody').appendChild(renderRow(saved));
+            filterTodos();
+        }
+        
+        // Show success message
+        showCustomNotification('success', 'Success', 'Todo added successfully!');
+        
+        // Close modal
+        $('#addTodoModal').modal('hide');
+        
+        // Reset form
+        document.getElementById('addTodoForm').reset();
+    }).catch(error => showCustomNotification('error', 'Error', error.message));
 }
 
 // Toggle todo status
 function toggleTodoStatus(id) {
-    const todo = todos.find(t => t.id === id);
-    if (todo) {
-        todo.completed = todo.completed === 'Yes' ? 'No' : 'Yes';
-        renderTodos();
+    // Send the version this page shows; a 409 means another tab changed the todo meanwhile
+    const current = todos.find(t => t.id === id);
+    const version = current && current.version !== undefined ? `?version=${current.version}` : '';
+    apiRequest('POST', `/api/todos/${id}/toggle${version}`).then(todo => {
+        replaceRow(todo);
         
-        showCustomNotification('success', 'Status Updated', `Todo marked as ${todo.completed === 'Yes' ? 'completed' : 'pending'}`);
-    }
+        showCustomNotification('success', 'Status Updated', `Todo marked as ${todo.completed ? 'completed' : 'pending'}`);
+    }).catch(error => {
+        if (error.status === 409) {
+            apiRequest('GET', `/api/todos/${id}`).then(replaceRow).catch(() => {});
+            showCustomNotification('warning', 'Changed Elsewhere', 'This todo was changed in another tab or window; it has been reloaded.');
+        } else {
+            showCustomNotification('error', 'Error', error.message);
+        }
+    });
 }
 
 // Delete a todo
 function deleteTodo(id) {
     if (confirm('Are you sure you want to delete this todo?')) {
-        todos = todos.filter(t => t.id !== id);
-        renderTodos();
-        
-        showCustomNotification('success', 'Deleted', 'Todo deleted successfully!');
+        apiRequest('DELETE', `/api/todos/${id}`).then(() => {
+            todos = todos.filter(t => t.id !== id);
+            if (todos.length === 0) {
+                renderTodos();
+            } else {
+                const row = document.querySelector(`#todoTableBody tr[data-id="${id}"]`);
+                if (row) {
+                    row.remove();
+                }
+                filterTodos();
+            }
+            
+            showCustomNotification('success', 'Deleted', 'Todo deleted successfully!');
+        }).catch(error => showCustomNotification('error', 'Error', error.message));
     }
 }
 
@@ -337,10 +406,10 @@ function checkForOverdueTodos() {
     
     todos.forEach(todo => {
         const dueDateStr = todo.dueDate;
-        const status = todo.completed;
+        const completed = todo.completed;
         const todoItem = todo.todoItem;
         
-        if (status === 'No' && dueDateStr) {
+        if (!completed && dueDateStr) {
             try {
                 const dueDate = new Date(dueDateStr);
                 if (dueDate < now) {
@@ -366,7 +435,7 @@ function checkForOverdueTodos() {
 
 // Update pending count
 function updatePendingCount() {
-    const pendingCount = todos.filter(todo => todo.completed === 'No').length;
+    const pendingCount = todos.filter(todo => !todo.completed).length;
     document.getElementById('pendingCount').textContent = pendingCount;
     
     // Update the badge in the card header too
@@ -378,9 +447,76 @@ function initNotifications() {
     // Update pending count on page load
     updatePendingCount();
     
-    // Check for overdue todos every minute
+    // Check for overdue todos on page load; later changes are pushed by the server
     checkForOverdueTodos();
-    setInterval(checkForOverdueTodos, 60000);
+    connectChangeFeed();
+}
+
+// Live updates pushed by the server (/api/todos/events) instead of polling on a timer
+function connectChangeFeed() {
+    if (!window.EventSource) {
+        return;
+    }
+    const feed = new EventSource('/api/todos/events');
+    
+    // One todo changed, possibly in another tab
+    feed.addEventListener('todo', event => {
+        const change = JSON.parse(event.data);
+        const known = todos.some(t => t.id === change.id);
+        if (change.type === 'DELETED') {
+            if (known) {
+                todos = todos.filter(t => t.id !== change.id);
+                const row = document.querySelector(`#todoTableBody tr[data-id="${change.id}"]`);
+                if (row) {
+                    row.remove();
+                }
+                todos.length === 0 ? renderTodos() : filterTodos();
+            }
+        } else if (known) {
+            replaceRow(change.todo);
+        } else if (change.type === 'CREATED') {
+            if (todos.length === 0) {
+                document.getElementById('todoTableBody').innerHTML = '';
+            }
+            todos.push(change.todo);
+            document.getElementById('todoTableBody').appendChild(renderRow(change.todo));
+            filterTodos();
+        }
+    });
+    
+    // Bulk operation: drop deleted rows, reload the changed ones shown on this page
+    feed.addEventListener('todos', event => {
+        const change = JSON.parse(event.data);
+        const shown = change.ids.filter(id => todos.some(t => t.id === id));
+        if (change.type === 'DELETED') {
+            todos = todos.filter(t => !shown.includes(t.id));
+            shown.forEach(id => {
+                const row = document.querySelector(`#todoTableBody tr[data-id="${id}"]`);
+                if (row) {
+                    row.remove();
+                }
+            });
+            todos.length === 0 ? renderTodos() : filterTodos();
+        } else {
+            shown.forEach(id => apiRequest('GET', `/api/todos/${id}`).then(replaceRow).catch(() => {}));
+        }
+    });
+    
+    // Reminder for todos due today, sent by the server at the configured hour
+    feed.addEventListener('reminder', event => {
+        JSON.parse(event.data).todos.forEach(todo => showCustomNotification('info', 'Due Today', `"${todo.todoItem}" is due today`));
+    });
+    
+    // Todos whose due date just passed, sent by the server at midnight
+    feed.addEventListener('overdue', event => {
+        JSON.parse(event.data).todos.forEach(todo => {
+            if (todos.some(t => t.id === todo.id)) {
+                replaceRow(todo);
+            }
+            const formattedDate = new Date(todo.dueDate).toLocaleDateString('en-US', { month: 'short', day: 'numeric', year: 'numeric' });
+            showCustomNotification('warning', 'Overdue Todo', `"${todo.todoItem}" was due on ${formattedDate}`);
+        });
+    });
 }
 
 // Add event listener for beforeprint to update the date
@@ -0,0 +1,86 @@
+package com.example.todo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Two in-memory H2 databases stand in for the primary and a replica; each holds a marker row
+// naming itself, so a query shows where the connection was routed.
+class ReplicaRoutingDataSourceTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicBoolean recentWriter = new AtomicBoolean();
+    private ReplicaRoutingDataSource dataSource;
+
+    @AfterEach
+    void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        dataSource = routing(database("routing-replica-up", "replica"));
+
+        assertThat(target(true)).isEqualTo("replica");
+        assertThat(target(false)).isEqualTo("primary");
+        assertThat(registry.get("todo.datasource.reads").tag("route", "replica").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recentWritersReadFromThePrimary() {
+        dataSource = routing(database("routing-replica-sticky", "replica"));
+        recentWriter.set(true);
+
+        assertThat(target(true)).isEqualTo("primary");
+
+        recentWriter.set(false);
+        assertThat(target(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaIsDown() {
+        HikariDataSource down = new HikariDataSource();
+        down.setJdbcUrl("jdbc:h2:mem:routing-replica-down;IFEXISTS=TRUE");
+        down.setConnectionTimeout(250);
+        down.setInitializationFailTimeout(-1);
+        dataSource = routing(down);
+
+        assertThat(target(true)).isEqualTo("primary");
+        assertThat(target(true)).isEqualTo("primary");
+        assertThat(registry.get("todo.datasource.reads").tag("route", "primary-fallback").counter().count()).isEqualTo(2);
+    }
+
+    private ReplicaRoutingDataSource routing(HikariDataSource replica) {
+        return new ReplicaRoutingDataSource(database("routing-primary", "primary"), List.of(replica),
+                recentWriter::get, 60_000, registry);
+    }
+
+    private String target(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select name from marker", String.class));
+    }
+
+    private HikariDataSource database(String database, String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        pool.setPoolName(database);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+        jdbcTemplate.execute("create table if not exists marker (name varchar(20))");
+        jdbcTemplate.update("delete from marker");
+        jdbcTemplate.update("insert into marker values (?)", name);
+        return pool;
+    }
+}
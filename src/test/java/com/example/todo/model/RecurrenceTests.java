@@ -0,0 +1,45 @@
+package com.example.todo.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class RecurrenceTests {
+
+    // A Friday
+    private static final LocalDate DUE = LocalDate.of(2026, 1, 30);
+
+    @Test
+    void keywordsCountFromTheDueDate() {
+        assertThat(Recurrence.parse("daily").next(DUE)).isEqualTo(LocalDate.of(2026, 1, 31));
+        assertThat(Recurrence.parse("Weekdays").next(DUE)).isEqualTo(LocalDate.of(2026, 2, 2));
+        assertThat(Recurrence.parse("weekly").next(DUE)).isEqualTo(LocalDate.of(2026, 2, 6));
+        assertThat(Recurrence.parse("monthly").next(DUE)).isEqualTo(LocalDate.of(2026, 2, 28));
+        assertThat(Recurrence.parse("yearly").next(DUE)).isEqualTo(LocalDate.of(2027, 1, 30));
+        assertThat(Recurrence.parse(" Daily ").toString()).isEqualTo("daily");
+    }
+
+    @Test
+    void cronRulesPickTheNextMatchingDay() {
+        assertThat(Recurrence.parse("0 0 0 * * MON,THU").next(DUE)).isEqualTo(LocalDate.of(2026, 2, 2));
+        // The time of day does not matter, only the day; the due day itself never repeats
+        assertThat(Recurrence.parse("0 0 9 * * FRI").next(DUE)).isEqualTo(LocalDate.of(2026, 2, 6));
+        assertThat(Recurrence.parse("0 0 0 1 * *").next(DUE)).isEqualTo(LocalDate.of(2026, 2, 1));
+    }
+
+    @Test
+    void nextFromSkipsOccurrencesInThePast() {
+        assertThat(Recurrence.parse("weekly").nextFrom(DUE, LocalDate.of(2026, 2, 20))).isEqualTo(LocalDate.of(2026, 2, 20));
+        assertThat(Recurrence.parse("weekly").nextFrom(DUE, LocalDate.of(2026, 2, 21))).isEqualTo(LocalDate.of(2026, 2, 27));
+    }
+
+    @Test
+    void rejectsUnknownRules() {
+        assertThatThrownBy(() -> Recurrence.parse("fortnightly"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown recurrence: fortnightly");
+    }
+}
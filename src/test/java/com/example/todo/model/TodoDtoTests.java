@@ -0,0 +1,29 @@
+package com.example.todo.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class TodoDtoTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void patchClearsFieldsSentAsNullAndKeepsTheOthers() throws Exception {
+        Todo todo = new Todo("Pay rent", false, Priority.HIGH, "Home", LocalDate.of(2024, 5, 1), "by card");
+
+        objectMapper.readValue("{\"dueDate\":null,\"notes\":\"\",\"todoItem\":\"Pay the rent\"}", TodoDto.class)
+                .applyTo(todo);
+
+        assertThat(todo.getTodoItem()).isEqualTo("Pay the rent");
+        assertThat(todo.getDueDate()).isNull();
+        assertThat(todo.getNotes()).isNull();
+        assertThat(todo.getCategory()).isEqualTo("Home");
+        assertThat(todo.getPriority()).isEqualTo(Priority.HIGH);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.todo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+import com.example.todo.model.User;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class TodoRepositoryTests {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(new User("alice", "alice@example.com", "secret"));
+        User other = entityManager.persist(new User("bob", "bob@example.com", "secret"));
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 25; i++) {
+            Todo todo = new Todo("item " + i, i % 2 != 0);
+            todo.setOwner(owner);
+            // Several todos share a due date and some have none, to exercise the tie-breaker and null phase
+            todo.setDueDate(i % 5 == 0 ? null : today.plusDays(i % 3));
+            todoRepository.save(todo);
+
+            // Another user's todos must never leak into the pages
+            Todo foreign = new Todo("foreign " + i, false);
+            foreign.setOwner(other);
+            todoRepository.save(foreign);
+        }
+        // Page through rows as stored by the database, like a fresh request would
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void keysetPagesVisitEveryRowOnceInOrder() {
+        List<Todo> seen = readAll(null, TodoSort.DUE_DATE, 4);
+
+        assertThat(seen).hasSize(25).allMatch(todo -> todo.getOwnerId().equals(owner.getId()));
+        assertThat(seen).extracting(Todo::getId).doesNotHaveDuplicates();
+        List<Todo> dated = seen.subList(0, 20);
+        assertThat(dated).allMatch(todo -> todo.getDueDate() != null);
+        assertThat(dated).isSortedAccordingTo((a, b) -> {
+            int byDate = a.getDueDate().compareTo(b.getDueDate());
+            return byDate != 0 ? byDate : a.getId().compareTo(b.getId());
+        });
+        assertThat(seen.subList(20, 25)).allMatch(todo -> todo.getDueDate() == null);
+    }
+
+    @Test
+    void keysetPagesApplyStatusFilter() {
+        List<Todo> seen = readAll(false, TodoSort.CREATED_AT, 3);
+
+        assertThat(seen).hasSize(13).allMatch(todo -> !todo.isCompleted());
+    }
+
+    @Test
+    void setBasedUpdatesOnlyTouchTheOwnersTodos() {
+        List<Long> allIds = todoRepository.findAll().stream().map(Todo::getId).toList();
+        List<Long> owned = todoRepository.findOwnedIds(owner.getId(), allIds);
+        assertThat(owned).hasSize(25);
+
+        LocalDateTime later = LocalDateTime.now().plusHours(1).withNano(0);
+        assertThat(todoRepository.updateCompleted(owner.getId(), allIds, true, later)).isEqualTo(25);
+        assertThat(todoRepository.countByOwner_IdAndCompleted(owner.getId(), false)).isZero();
+        // Only the todos that were pending take the new completion time
+        assertThat(todoRepository.findAllById(owned)).allMatch(todo -> todo.getCompletedAt() != null)
+                .filteredOn(todo -> later.equals(todo.getCompletedAt())).hasSize(13);
+        todoRepository.updateCompleted(owner.getId(), owned.subList(0, 5), false, later);
+        assertThat(todoRepository.findAllById(owned.subList(0, 5))).allMatch(todo -> todo.getCompletedAt() == null);
+
+        assertThat(todoRepository.updateCategory(owner.getId(), owned.subList(0, 10), "Work", LocalDateTime.now())).isEqualTo(10);
+        assertThat(todoRepository.findIdsByCategory(owner.getId(), "Work")).containsExactlyInAnyOrderElementsOf(owned.subList(0, 10));
+
+        assertThat(todoRepository.deleteOwned(owner.getId(), allIds)).isEqualTo(25);
+        assertThat(todoRepository.count()).isEqualTo(25);
+    }
+
+    @Test
+    void writesBasedOnAStaleVersionAreRejected() {
+        Todo stale = todoRepository.findAll().stream()
+                .filter(todo -> todo.getOwnerId().equals(owner.getId())).findFirst().orElseThrow();
+        entityManager.clear();
+
+        // A set-based update bumps the version like an entity update does
+        todoRepository.updateCategory(owner.getId(), List.of(stale.getId()), "Work", LocalDateTime.now());
+        assertThat(todoRepository.findById(stale.getId()).orElseThrow().getVersion()).isEqualTo(stale.getVersion() + 1);
+        entityManager.clear();
+
+        stale.setNotes("edited from an outdated copy");
+        assertThatThrownBy(() -> todoRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void archivableTodosMoveToTheArchiveTable() {
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+        List<TodoRepository.OwnedTodo> batch = todoRepository.findArchivable(cutoff, Limit.of(5));
+        assertThat(batch).hasSize(5).allMatch(todo -> todo.getOwnerId().equals(owner.getId()));
+        List<Long> ids = batch.stream().map(TodoRepository.OwnedTodo::getId).toList();
+
+        assertThat(archivedTodoRepository.copyFromTodos(ids, LocalDateTime.now())).isEqualTo(5);
+        todoRepository.deleteAllByIdInBatch(ids);
+
+        assertThat(todoRepository.findAllById(ids)).isEmpty();
+        assertThat(archivedTodoRepository.findAllById(ids)).hasSize(5)
+                .allMatch(todo -> todo.getOwnerId().equals(owner.getId()) && todo.getArchivedAt() != null);
+        assertThat(archivedTodoRepository.searchByText(owner.getId(), "ITEM", null, null, Limit.of(10))).hasSize(5);
+        assertThat(todoRepository.findArchivable(cutoff, Limit.of(100))).hasSize(7);
+    }
+
+    @Test
+    void groupedCountsSeedTheDashboardStatistics() {
+        LocalDate today = LocalDate.now();
+        List<TodoRepository.BreakdownCount> breakdown = todoRepository.countBreakdown(owner.getId());
+        assertThat(breakdown).hasSize(2).allMatch(row -> row.getCategory().equals("General") && row.getPriority() == Priority.MEDIUM);
+        assertThat(breakdown).filteredOn(TodoRepository.BreakdownCount::isCompleted)
+                .singleElement().extracting(TodoRepository.BreakdownCount::getTotal).isEqualTo(12L);
+
+        // Pending todos with a due date: even i except multiples of 5, spread over three days
+        assertThat(todoRepository.countPendingByDueDate(owner.getId(), today, today.plusDays(2)))
+                .extracting(TodoRepository.DailyCount::getTotal).containsExactlyInAnyOrder(4L, 3L, 3L);
+
+        LocalDateTime since = today.atStartOfDay();
+        assertThat(todoRepository.countCreatedByDay(owner.getId(), since)).singleElement()
+                .satisfies(row -> assertThat(row.getDay()).isEqualTo(today))
+                .extracting(TodoRepository.DailyCount::getTotal).isEqualTo(25L);
+        assertThat(todoRepository.countCompletedByDay(owner.getId(), since)).singleElement()
+                .extracting(TodoRepository.DailyCount::getTotal).isEqualTo(12L);
+    }
+
+    private List<Todo> readAll(Boolean status, TodoSort sort, int pageSize) {
+        List<Todo> seen = new ArrayList<>();
+        TodoCursor cursor = null;
+        while (true) {
+            List<Todo> page = todoRepository.findPage(owner.getId(), status, sort, cursor, pageSize);
+            seen.addAll(page);
+            if (page.size() < pageSize) {
+                return seen;
+            }
+            // Round-trip through the token, as a client would
+            cursor = TodoCursor.decode(TodoCursor.after(sort, page.get(page.size() - 1)).encode());
+        }
+    }
+}
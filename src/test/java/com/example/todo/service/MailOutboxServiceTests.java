@@ -0,0 +1,116 @@
+package com.example.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.todo.model.OutboxMessage;
+import com.example.todo.model.User;
+import com.example.todo.repository.OutboxMessageRepository;
+import com.example.todo.repository.PasswordResetTokenRepository;
+import com.example.todo.repository.UserRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.internet.MimeMessage;
+
+// Polling is pushed far out so the test drives dispatch() itself. Runs on an embedded database;
+// each test removes the users, tokens and mail it created.
+@SpringBootTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "todo.mail.outbox.poll-interval=3600000",
+        "todo.mail.outbox.sent-retention=PT0S"
+})
+@AutoConfigureTestDatabase
+class MailOutboxServiceTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        outboxMessageRepository.deleteAllInBatch();
+        passwordResetTokenRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void resetMailIsStoredThenDeliveredByTheDispatcher() throws Exception {
+        userService.registerUser(new User("dana", "dana@example.com", "secret1"));
+        userService.registerUser(new User("erin", "erin@example.com", "secret1"));
+
+        passwordResetService.initiatePasswordReset("dana@example.com");
+        passwordResetService.initiatePasswordReset("erin@example.com");
+
+        // Nothing is sent on the request path
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(outboxMessageRepository.countByStatus(OutboxMessage.Status.PENDING)).isEqualTo(2);
+
+        mailOutboxService.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received[0].getSubject()).isEqualTo("Password Reset Request");
+        assertThat(outboxMessageRepository.countByStatus(OutboxMessage.Status.PENDING)).isZero();
+        assertThat(outboxMessageRepository.countByStatus(OutboxMessage.Status.SENT)).isEqualTo(2);
+    }
+
+    @Test
+    void failedDeliveryIsRescheduledWithBackoff() {
+        userService.registerUser(new User("fred", "fred@example.com", "secret1"));
+        passwordResetService.initiatePasswordReset("fred@example.com");
+
+        greenMail.stop();
+        try {
+            mailOutboxService.dispatch();
+        } finally {
+            greenMail.start();
+        }
+
+        OutboxMessage message = outboxMessageRepository.findAll().get(0);
+        assertThat(message.getStatus()).isEqualTo(OutboxMessage.Status.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getLastError()).isNotNull();
+        assertThat(message.getNextAttemptAt()).isAfter(message.getCreatedAt());
+    }
+
+    @Test
+    void purgeRemovesSentMailOnly() {
+        userService.registerUser(new User("gwen", "gwen@example.com", "secret1"));
+        passwordResetService.initiatePasswordReset("gwen@example.com");
+        mailOutboxService.dispatch();
+        userService.registerUser(new User("hugo", "hugo@example.com", "secret1"));
+        passwordResetService.initiatePasswordReset("hugo@example.com");
+
+        mailOutboxService.purgeSent();
+
+        assertThat(outboxMessageRepository.findAll())
+                .extracting(OutboxMessage::getRecipient)
+                .containsExactly("hugo@example.com");
+    }
+}
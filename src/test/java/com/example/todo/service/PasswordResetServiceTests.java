@@ -0,0 +1,95 @@
+package com.example.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.todo.model.OutboxMessage;
+import com.example.todo.model.PasswordResetToken;
+import com.example.todo.model.User;
+import com.example.todo.repository.OutboxMessageRepository;
+import com.example.todo.repository.PasswordResetTokenRepository;
+import com.example.todo.repository.UserRepository;
+
+// Runs on an embedded database; each test removes the users, tokens and mail it created
+@SpringBootTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "todo.mail.outbox.poll-interval=3600000"
+})
+@AutoConfigureTestDatabase
+class PasswordResetServiceTests {
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        outboxMessageRepository.deleteAllInBatch();
+        passwordResetTokenRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void tokenIsStoredHashedAndCanBeUsedOnce() {
+        userService.registerUser(new User("gina", "gina@example.com", "secret1"));
+        passwordResetService.initiatePasswordReset("gina@example.com");
+
+        String token = tokenFromMailTo("gina@example.com");
+        assertThat(passwordResetTokenRepository.findAll())
+                .extracting(PasswordResetToken::getTokenHash)
+                .doesNotContain(token);
+        assertThat(passwordResetService.validateResetToken(token)).isTrue();
+
+        passwordResetService.resetPassword(token, "changed1");
+
+        assertThat(passwordEncoder.matches("changed1", userService.findByEmail("gina@example.com").getPassword())).isTrue();
+        assertThat(passwordResetService.validateResetToken(token)).isFalse();
+        assertThatThrownBy(() -> passwordResetService.resetPassword(token, "again12"))
+                .hasMessage("Invalid or expired reset token");
+    }
+
+    @Test
+    void purgeRemovesOnlyExpiredTokens() {
+        User user = userService.registerUser(new User("hank", "hank@example.com", "secret1"));
+        PasswordResetToken expired = passwordResetTokenRepository.save(
+                new PasswordResetToken("a".repeat(64), user, LocalDateTime.now().minusMinutes(1)));
+        PasswordResetToken live = passwordResetTokenRepository.save(
+                new PasswordResetToken("b".repeat(64), user, LocalDateTime.now().plusHours(1)));
+
+        passwordResetService.purgeExpiredTokens();
+
+        assertThat(passwordResetTokenRepository.existsById(expired.getId())).isFalse();
+        assertThat(passwordResetTokenRepository.existsById(live.getId())).isTrue();
+    }
+
+    private String tokenFromMailTo(String recipient) {
+        String body = outboxMessageRepository.findAll().stream()
+                .filter(message -> message.getRecipient().equals(recipient))
+                .map(OutboxMessage::getBody)
+                .findFirst().orElseThrow();
+        return body.substring(body.indexOf("token=") + "token=".length()).split("\\s")[0];
+    }
+}
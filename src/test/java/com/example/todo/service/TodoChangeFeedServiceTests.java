@@ -0,0 +1,79 @@
+package com.example.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class TodoChangeFeedServiceTests {
+
+    private final TodoChangeFeedService feedService = new TodoChangeFeedService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(feedService, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(feedService, "queueCapacity", 2);
+        ReflectionTestUtils.setField(feedService, "senderThreads", 2);
+        feedService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feedService.shutdown();
+    }
+
+    @Test
+    void dropsAClientThatFallsBehindWithoutStallingOthers() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        CountDownLatch stalledCompleted = new CountDownLatch(1);
+        feedService.subscribe(1L, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public synchronized void complete() {
+                stalledCompleted.countDown();
+            }
+        });
+        CountDownLatch received = new CountDownLatch(2);
+        AtomicInteger sent = new AtomicInteger();
+        feedService.subscribe(2L, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                sent.incrementAndGet();
+                received.countDown();
+            }
+        });
+
+        // User 1's first write blocks; two more events fill its queue, the third overflows it
+        for (int i = 0; i < 3; i++) {
+            feedService.publish(1L, "todos", i);
+        }
+        assertThat(feedService.isSubscribed(1L)).isFalse();
+
+        // User 2 still gets the connect comment and its event
+        feedService.publish(2L, "todos", 0);
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sent).hasValue(2);
+
+        // Once the blocked write returns, the dropped stream is completed by its own drain
+        unblock.countDown();
+        assertThat(stalledCompleted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(feedService.getConnectionCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+
+class TodoCsvTests {
+
+    @Test
+    void roundTripsQuotesCommasAndLineBreaks() throws Exception {
+        Todo todo = new Todo("Buy milk, eggs", true, Priority.HIGH, "Home", LocalDate.of(2024, 5, 1),
+                "He said \"now\"\nsecond line");
+        todo.setId(42L);
+
+        StringWriter out = new StringWriter();
+        TodoCsv.writeHeader(out);
+        TodoCsv.write(todo, out);
+        TodoCsv.write(new Todo("plain", false), out);
+
+        TodoCsv csv = new TodoCsv(new StringReader(out.toString()));
+        Todo first = csv.next();
+        Todo second = csv.next();
+
+        assertThat(first.getTodoItem()).isEqualTo("Buy milk, eggs");
+        assertThat(first.isCompleted()).isTrue();
+        assertThat(first.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(first.getCategory()).isEqualTo("Home");
+        assertThat(first.getDueDate()).isEqualTo(LocalDate.of(2024, 5, 1));
+        assertThat(first.getNotes()).isEqualTo("He said \"now\"\nsecond line");
+        assertThat(first.getCreatedAt()).isEqualTo(todo.getCreatedAt());
+        assertThat(second.getTodoItem()).isEqualTo("plain");
+        assertThat(second.getDueDate()).isNull();
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void matchesColumnsByHeaderName() throws Exception {
+        TodoCsv csv = new TodoCsv(new StringReader("priority,todoItem,completed\nLow,Walk the dog,Yes\n\n"));
+
+        Todo todo = csv.next();
+
+        assertThat(todo.getTodoItem()).isEqualTo("Walk the dog");
+        assertThat(todo.getPriority()).isEqualTo(Priority.LOW);
+        assertThat(todo.isCompleted()).isTrue();
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void reportsTheBadRecord() {
+        TodoCsv csv = new TodoCsv(new StringReader("todoItem,dueDate\nok,2024-01-01\nbad,tomorrow\n"));
+
+        assertThatThrownBy(() -> {
+            while (csv.next() != null) {
+                // consume
+            }
+        }).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("record 3");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+
+class TodoJournalServiceTests {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void diffRecordsOnlyTheFieldsThatChanged() {
+        Todo before = new Todo("Pay rent", false, Priority.HIGH, "Home", LocalDate.of(2024, 5, 1), null);
+        Todo after = new Todo(before);
+        after.setCompleted(true);
+        after.setNotes("paid");
+
+        Map<String, Object> changes = TodoJournalService.diff(before, after);
+
+        assertThat(changes).containsOnlyKeys("completed", "notes");
+        assertThat(changes.get("completed")).isEqualTo(Map.of("from", false, "to", true));
+        assertThat((Map<String, Object>) changes.get("notes")).containsEntry("from", null).containsEntry("to", "paid");
+    }
+
+    @Test
+    void createsAndDeletesRecordOneSideOfEverySetField() {
+        Todo todo = new Todo("Pay rent", false, Priority.HIGH, "Home", null, null);
+
+        assertThat(TodoJournalService.diff(null, todo).get("todoItem")).isEqualTo(Map.of("to", "Pay rent"));
+        assertThat(TodoJournalService.diff(todo, null).get("category")).isEqualTo(Map.of("from", "Home"));
+        assertThat(TodoJournalService.diff(null, todo)).doesNotContainKeys("dueDate", "notes", "recurrence");
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.model.Todo;
+import com.example.todo.model.User;
+import com.example.todo.repository.TodoRepository;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class TodoNotificationServiceTests {
+
+    private static final Long OWNER_ID = 7L;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TodoNotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationService, "overdueLimit", 2);
+    }
+
+    @Test
+    void countersFollowMutationsWithoutRescanning() {
+        when(todoRepository.countByOwner_IdAndCompleted(OWNER_ID, false)).thenReturn(0L);
+        when(todoRepository.countByOwner_IdAndCompletedAndDueDateBefore(eq(OWNER_ID), eq(false), any())).thenReturn(0L);
+        when(todoRepository.findByOwner_IdAndCompletedAndDueDateBeforeOrderByDueDateAscIdAsc(
+                eq(OWNER_ID), eq(false), any(), any(Limit.class)))
+                .thenReturn(List.of());
+
+        assertThat(notificationService.getNotificationData(OWNER_ID)).containsEntry("pendingCount", 0L);
+
+        Todo overdue = todo(1L, false, LocalDate.now().minusDays(3));
+        notificationService.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Type.CREATED, null, overdue));
+        Todo future = todo(2L, false, LocalDate.now().plusDays(3));
+        notificationService.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Type.CREATED, null, future));
+
+        Map<String, Object> data = notificationService.getNotificationData(OWNER_ID);
+        assertThat(data).containsEntry("pendingCount", 2L).containsEntry("overdueCount", 1L);
+        assertThat((List<Object>) data.get("overdueTodos")).containsExactly(overdue);
+
+        Todo completed = new Todo(overdue);
+        completed.setCompleted(true);
+        notificationService.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Type.UPDATED, overdue, completed));
+
+        data = notificationService.getNotificationData(OWNER_ID);
+        assertThat(data).containsEntry("pendingCount", 1L).containsEntry("overdueCount", 0L);
+        assertThat((List<Object>) data.get("overdueTodos")).isEmpty();
+
+        // Only the initial load touched the table
+        verify(todoRepository, times(1)).countByOwner_IdAndCompleted(OWNER_ID, false);
+    }
+
+    @Test
+    void overdueListStaysBounded() {
+        when(todoRepository.countByOwner_IdAndCompleted(OWNER_ID, false)).thenReturn(0L);
+        when(todoRepository.countByOwner_IdAndCompletedAndDueDateBefore(eq(OWNER_ID), eq(false), any())).thenReturn(0L);
+        when(todoRepository.findByOwner_IdAndCompletedAndDueDateBeforeOrderByDueDateAscIdAsc(
+                eq(OWNER_ID), eq(false), any(), any(Limit.class)))
+                .thenReturn(List.of());
+        notificationService.getNotificationData(OWNER_ID);
+
+        for (long id = 1; id <= 5; id++) {
+            Todo todo = todo(id, false, LocalDate.now().minusDays(id));
+            notificationService.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Type.CREATED, null, todo));
+        }
+
+        Map<String, Object> data = notificationService.getNotificationData(OWNER_ID);
+        assertThat(data).containsEntry("overdueCount", 5L);
+        assertThat((List<Object>) data.get("overdueTodos")).hasSize(2)
+                .extracting("id").containsExactly(5L, 4L);
+    }
+
+    private Todo todo(Long id, boolean completed, LocalDate dueDate) {
+        Todo todo = new Todo("item " + id, completed);
+        todo.setId(id);
+        todo.setDueDate(dueDate);
+        User owner = new User("alice", "alice@example.com", "secret");
+        owner.setId(OWNER_ID);
+        todo.setOwner(owner);
+        return todo;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.event.TodosBulkChangedEvent;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoDto;
+import com.example.todo.model.User;
+import com.example.todo.repository.TodoRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class TodoReminderServiceTests {
+
+    private static final Long OWNER_ID = 7L;
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TodoChangeFeedService todoChangeFeedService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TodoReminderService reminderService;
+
+    @Captor
+    private ArgumentCaptor<Object> published;
+
+    // Current rows, as findAllById would read them
+    private final Map<Long, Todo> rows = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reminderService, "reminderHour", 9);
+        ReflectionTestUtils.setField(reminderService, "windowDays", 1);
+        reminderService.init();
+        at(TODAY.atTime(8, 0));
+        when(todoChangeFeedService.isSubscribed(OWNER_ID)).thenReturn(true);
+        when(todoRepository.findAllById(any())).thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0))
+                .stream().filter(rows::containsKey).map(rows::get).toList());
+    }
+
+    @Test
+    void remindersFollowChangeEventsThroughDueAndOverdue() {
+        save(todo(1L, TODAY));
+        Todo moved = save(todo(2L, TODAY.plusDays(1)));
+        save(todo(3L, TODAY));
+        Todo completed = save(todo(4L, TODAY));
+        when(todoRepository.findPendingDue(any(), anyLong(), any(), any(Limit.class))).thenAnswer(invocation -> {
+            if (!TODAY.equals(invocation.getArgument(0))) {
+                return List.of();
+            }
+            // Todo 3 moves to tomorrow while the window is read; the stale row must not undo it
+            Todo postponed = save(todo(3L, TODAY.plusDays(1)));
+            change(todo(3L, TODAY), postponed);
+            return List.of(due(1L, TODAY), due(3L, TODAY), due(4L, TODAY), due(2L, TODAY.plusDays(1)));
+        });
+        assertThat(reminderService.loadWindow()).isEqualTo(4);
+        assertThat(reminderService.getScheduledCount()).isEqualTo(4);
+
+        // Cancel one, bring another forward, and pick up a bulk-updated row
+        Todo done = save(todo(4L, TODAY));
+        done.setCompleted(true);
+        change(completed, done);
+        Todo advanced = save(todo(2L, TODAY));
+        change(moved, advanced);
+        save(todo(5L, TODAY.plusDays(1)));
+        reminderService.onTodosBulkChanged(new TodosBulkChangedEvent(TodoChangedEvent.Type.UPDATED, OWNER_ID, List.of(5L)));
+        assertThat(reminderService.getScheduledCount()).isEqualTo(4);
+
+        // Nothing is due before the reminder hour
+        reminderService.fireDue();
+        verify(todoChangeFeedService, never()).publish(any(), any(), any());
+
+        at(TODAY.atTime(9, 0));
+        reminderService.fireDue();
+        assertThat(publishedIds("reminder")).containsExactlyInAnyOrder(1L, 2L);
+        // Both stay scheduled for their overdue transition
+        assertThat(reminderService.getScheduledCount()).isEqualTo(4);
+
+        at(TODAY.plusDays(1).atStartOfDay());
+        reminderService.refill();
+        verify(todoRepository).findPendingDue(eq(TODAY.plusDays(2)), eq(0L), eq(TODAY.plusDays(2)), any(Limit.class));
+        reminderService.fireDue();
+        assertThat(publishedIds("overdue")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(reminderService.getScheduledCount()).isEqualTo(2);
+
+        // Todo 2's replaced reminder for today is skipped; 3 keeps the date of its change event
+        at(TODAY.plusDays(1).atTime(9, 0));
+        reminderService.fireDue();
+        assertThat(publishedIds("reminder")).containsExactlyInAnyOrder(3L, 5L);
+        assertThat(reminderService.getScheduledCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("todo.reminders.fired").tag("kind", "reminder").counter().count()).isEqualTo(4);
+
+        reminderService.onTodosBulkChanged(new TodosBulkChangedEvent(TodoChangedEvent.Type.DELETED, OWNER_ID, List.of(3L, 5L)));
+        assertThat(reminderService.getScheduledCount()).isZero();
+    }
+
+    private List<Long> publishedIds(String event) {
+        verify(todoChangeFeedService).publish(eq(OWNER_ID), eq(event), published.capture());
+        clearInvocations(todoChangeFeedService);
+        List<Long> ids = new ArrayList<>();
+        ((Map<String, List<TodoDto>>) published.getValue()).get("todos").forEach(dto -> ids.add(dto.getId()));
+        return ids;
+    }
+
+    private void at(LocalDateTime now) {
+        ReflectionTestUtils.setField(reminderService, "clock",
+                Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+    }
+
+    private void change(Todo before, Todo after) {
+        reminderService.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Type.UPDATED, before, after));
+    }
+
+    private Todo save(Todo todo) {
+        rows.put(todo.getId(), todo);
+        return todo;
+    }
+
+    private Todo todo(Long id, LocalDate dueDate) {
+        Todo todo = new Todo("item " + id, false);
+        todo.setId(id);
+        todo.setDueDate(dueDate);
+        User owner = new User("alice", "alice@example.com", "secret");
+        owner.setId(OWNER_ID);
+        todo.setOwner(owner);
+        return todo;
+    }
+
+    private TodoRepository.DueTodo due(Long id, LocalDate dueDate) {
+        return new TodoRepository.DueTodo() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return OWNER_ID;
+            }
+
+            @Override
+            public LocalDate getDueDate() {
+                return dueDate;
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.todo.model.Todo;
+
+class TodoSearchIndexTests {
+
+    private TodoSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TodoSearchIndex();
+        index.index(todo(1L, "Buy groceries", "milk, eggs and bread", false, "Shopping"));
+        index.index(todo(2L, "Finish project report", "Send the groceries budget to finance", false, "Work"));
+        index.index(todo(3L, "Book dentist", null, true, "Health"));
+    }
+
+    @Test
+    void matchesTitleAndNotesCaseInsensitively() {
+        assertThat(index.search("GROCERIES", null, null, null, 10)).containsExactly(1L, 2L);
+        assertThat(index.search("budget", null, null, null, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void matchesPrefixesAndRequiresEveryToken() {
+        assertThat(index.search("gro", null, null, null, 10)).containsExactly(1L, 2L);
+        assertThat(index.search("gro mil", null, null, null, 10)).containsExactly(1L);
+        assertThat(index.search("gro dentist", null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void appliesFiltersAndLimit() {
+        assertThat(index.search("groceries", false, "Work", null, 10)).containsExactly(2L);
+        assertThat(index.search("groceries", null, null, null, 1)).containsExactly(1L);
+        assertThat(index.search("dentist", false, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void reindexingReplacesAndRemoveForgets() {
+        index.index(todo(1L, "Buy flowers", null, false, "Shopping"));
+        assertThat(index.search("groceries", null, null, null, 10)).containsExactly(2L);
+        assertThat(index.search("flowers", null, null, null, 10)).containsExactly(1L);
+
+        index.remove(2L);
+        assertThat(index.search("groceries", null, null, null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private Todo todo(Long id, String item, String notes, boolean completed, String category) {
+        Todo todo = new Todo(item, completed);
+        todo.setId(id);
+        todo.setNotes(notes);
+        todo.setCategory(category);
+        return todo;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.todo.event.TodoChangedEvent;
+import com.example.todo.model.Priority;
+import com.example.todo.model.Todo;
+import com.example.todo.model.User;
+import com.example.todo.repository.TodoRepository;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class TodoStatsServiceTests {
+
+    private static final Long OWNER_ID = 7L;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TodoStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statsService, "trendDays", 14);
+    }
+
+    @Test
+    void snapshotFollowsBeforeAndAfterImagesWithoutReseeding() {
+        // Seeded from an empty table
+        assertThat(statsService.getStats(OWNER_ID)).containsEntry("total", 0L).containsEntry("dueThisWeek", 0L);
+
+        LocalDate today = LocalDate.now();
+        Todo pending = todo(1L, false, "Work", Priority.HIGH);
+        pending.setDueDate(today);
+        apply(TodoChangedEvent.Type.CREATED, null, pending);
+        Todo lastWeek = todo(2L, true, "Home", Priority.LOW);
+        lastWeek.setCreatedAt(today.minusDays(10).atTime(9, 0));
+        lastWeek.setCompletedAt(today.minusDays(7).atTime(9, 0));
+        apply(TodoChangedEvent.Type.CREATED, null, lastWeek);
+
+        Map<String, Object> stats = statsService.getStats(OWNER_ID);
+        assertThat(stats).containsEntry("total", 2L).containsEntry("completed", 1L).containsEntry("pending", 1L)
+                .containsEntry("dueThisWeek", 1L);
+        assertThat((Map<String, Long>) stats.get("byCategory")).isEqualTo(Map.of("Home", 1L, "Work", 1L));
+        assertThat((Map<String, Long>) stats.get("byPriority"))
+                .containsEntry("High", 1L).containsEntry("Medium", 0L).containsEntry("Low", 1L);
+        assertThat(completedOn(stats, today.minusDays(7))).isEqualTo(1L);
+        assertThat(createdOn(stats, today.minusDays(10))).isEqualTo(1L);
+
+        // Editing a todo completed last week does not move its completion to today
+        Todo edited = new Todo(lastWeek);
+        edited.setNotes("more notes");
+        edited.setCategory("Work");
+        apply(TodoChangedEvent.Type.UPDATED, lastWeek, edited);
+        stats = statsService.getStats(OWNER_ID);
+        assertThat(completedOn(stats, today.minusDays(7))).isEqualTo(1L);
+        assertThat(completedOn(stats, today)).isZero();
+        assertThat((Map<String, Long>) stats.get("byCategory")).isEqualTo(Map.of("Work", 2L));
+
+        // Completing the pending todo counts today and leaves this week's due list
+        Todo done = new Todo(pending);
+        done.setCompleted(true);
+        apply(TodoChangedEvent.Type.UPDATED, pending, done);
+        stats = statsService.getStats(OWNER_ID);
+        assertThat(stats).containsEntry("completed", 2L).containsEntry("pending", 0L).containsEntry("dueThisWeek", 0L);
+        assertThat(completedOn(stats, today)).isEqualTo(1L);
+
+        apply(TodoChangedEvent.Type.DELETED, edited, null);
+        stats = statsService.getStats(OWNER_ID);
+        assertThat(stats).containsEntry("total", 1L);
+        assertThat(completedOn(stats, today.minusDays(7))).isZero();
+        assertThat(createdOn(stats, today.minusDays(10))).isZero();
+
+        // Only the first read ran the seed queries
+        verify(todoRepository, times(1)).countBreakdown(OWNER_ID);
+        verify(todoRepository, times(1)).countCompletedByDay(any(), any(LocalDateTime.class));
+    }
+
+    private void apply(TodoChangedEvent.Type type, Todo before, Todo after) {
+        statsService.onTodoChanged(new TodoChangedEvent(type, before, after));
+    }
+
+    private long completedOn(Map<String, Object> stats, LocalDate day) {
+        return trendPoint(stats, day, "completed");
+    }
+
+    private long createdOn(Map<String, Object> stats, LocalDate day) {
+        return trendPoint(stats, day, "created");
+    }
+
+    private long trendPoint(Map<String, Object> stats, LocalDate day, String key) {
+        return ((List<Map<String, Object>>) stats.get("trend")).stream()
+                .filter(point -> day.equals(point.get("date")))
+                .map(point -> (Long) point.get(key))
+                .findFirst().orElseThrow();
+    }
+
+    private Todo todo(Long id, boolean completed, String category, Priority priority) {
+        Todo todo = new Todo("item " + id, completed, priority, category, null, null);
+        todo.setId(id);
+        User owner = new User("alice", "alice@example.com", "secret");
+        owner.setId(OWNER_ID);
+        todo.setOwner(owner);
+        return todo;
+    }
+}
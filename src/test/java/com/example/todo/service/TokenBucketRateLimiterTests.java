@@ -0,0 +1,59 @@
+package com.example.todo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenBucketRateLimiterTests {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void allowsABurstThenOneRequestPerRefillInterval() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("login-user",
+                TokenBucketRateLimiter.Policy.parse("3/PT30S"), 100, registry, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+        assertThat(limiter.tryAcquire("bob")).isZero();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+        assertThat(registry.get("todo.rate-limit.rejected").tag("policy", "login-user").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void expiresIdleBucketsAndEvictsRatherThanRefusingNewKeys() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("register-ip",
+                TokenBucketRateLimiter.Policy.parse("2/PT1M"), 2, new SimpleMeterRegistry(), now::get);
+        limiter.tryAcquire("10.0.0.1");
+        limiter.tryAcquire("10.0.0.2");
+
+        // The limiter is full, yet a new client still gets its token
+        assertThat(limiter.tryAcquire("10.0.0.3")).isZero();
+        assertThat(limiter.getKeyCount()).isLessThanOrEqualTo(2);
+
+        // A minute later every bucket is full again, so all of them expire
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertThat(limiter.getKeyCount()).isZero();
+    }
+
+    @Test
+    void rejectsMalformedPolicies() {
+        assertThatThrownBy(() -> TokenBucketRateLimiter.Policy.parse("5 per minute"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TokenBucketRateLimiter.Policy.parse("0/PT1M"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}